@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.benchmark;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.docs.commons.utils.AsciidocUtils;
+import io.micrometer.docs.commons.utils.RegexAsciidocUtils;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.EnumConstantSource;
+import org.jboss.forge.roaster.model.source.JavaDocSource;
+import org.jboss.forge.roaster.model.source.JavaEnumSource;
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AsciidocUtils#javadocToAsciidoc(JavaDocSource)} against the
+ * previous {@link RegexAsciidocUtils regex based conversion}. Converts the javadoc of all
+ * enum constants in the test fixtures of the generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AsciidocUtilsBenchmark {
+
+    private final List<JavaDocSource<?>> javadocs = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Path fixtures = Paths.get(System.getProperty(Corpus.FIXTURES_PROPERTY,
+                "../micrometer-docs-generator/src/test/java/io/micrometer/docs"));
+        for (Path path : Corpus.javaFiles(fixtures)) {
+            JavaSource<?> javaSource = Roaster.parse(JavaSource.class, path.toFile());
+            if (javaSource instanceof JavaEnumSource) {
+                for (EnumConstantSource enumConstant : ((JavaEnumSource) javaSource).getEnumConstants()) {
+                    this.javadocs.add(enumConstant.getJavaDoc());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (JavaDocSource<?> javadoc : this.javadocs) {
+            blackhole.consume(AsciidocUtils.javadocToAsciidoc(javadoc));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (JavaDocSource<?> javadoc : this.javadocs) {
+            blackhole.consume(RegexAsciidocUtils.javadocToAsciidoc(javadoc));
+        }
+    }
+
+}
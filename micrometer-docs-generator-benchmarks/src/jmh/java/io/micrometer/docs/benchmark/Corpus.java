@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.micrometer.docs.SyntheticCorpus;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A project tree to run the benchmarks against, written by {@link SyntheticCorpus} with
+ * its default settings for each module.
+ */
+@State(Scope.Benchmark)
+public class Corpus {
+
+    static final String FIXTURES_PROPERTY = "benchmark.fixtures";
+
+    @Param({ "1", "10", "100" })
+    int modules;
+
+    Path root;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.root = Files.createTempDirectory("micrometer-docs-corpus");
+        SyntheticCorpus.builder().modules(this.modules).build().write(this.root);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(this.root);
+    }
+
+    /**
+     * All java files in the corpus.
+     * @return java files
+     */
+    List<Path> javaFiles() {
+        return javaFiles(this.root);
+    }
+
+    static List<Path> javaFiles(Path directory) {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream.filter(path -> path.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.docs.DocsGeneratorCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks for full {@link DocsGeneratorCommand} runs generating all documents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DocsGeneratorCommandBenchmark {
+
+    @Param({ "1", "4" })
+    int parallelism;
+
+    private Path outputDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.outputDir = Files.createTempDirectory("micrometer-docs-output");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Corpus.delete(this.outputDir);
+    }
+
+    @Benchmark
+    public void run(Corpus corpus) {
+        DocsGeneratorCommand.main(corpus.root.toString(), ".*", this.outputDir.toString(), "--parallelism",
+                String.valueOf(this.parallelism));
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.micrometer.docs.commons.JavaSourceSearchHelper;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.Import;
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link JavaSourceSearchHelper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JavaSourceSearchHelperBenchmark {
+
+    private JavaSourceSearchHelper searchHelper;
+
+    private final List<JavaSource<?>> enclosingSources = new ArrayList<>();
+
+    private final List<String> classNames = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup(Corpus corpus) throws Exception {
+        this.searchHelper = JavaSourceSearchHelper.create(corpus.root, Pattern.compile(".*"));
+        // look up the imported classes and a class that cannot be resolved from each
+        // top level class
+        for (Path path : corpus.javaFiles()) {
+            JavaSource<?> parsed = Roaster.parse(JavaSource.class, path.toFile());
+            JavaSource<?> enclosing = this.searchHelper.search(parsed.getQualifiedName());
+            if (enclosing == null) {
+                continue;
+            }
+            for (Import anImport : parsed.getImports()) {
+                if (!anImport.isWildcard() && !anImport.isStatic()) {
+                    this.enclosingSources.add(enclosing);
+                    this.classNames.add(anImport.getSimpleName());
+                }
+            }
+            this.enclosingSources.add(enclosing);
+            this.classNames.add("String");
+        }
+    }
+
+    @Benchmark
+    public JavaSourceSearchHelper create(Corpus corpus) {
+        return JavaSourceSearchHelper.create(corpus.root, Pattern.compile(".*"));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void searchReferencingClass(Blackhole blackhole) {
+        for (int i = 0; i < this.classNames.size(); i++) {
+            blackhole.consume(
+                    this.searchHelper.searchReferencingClass(this.enclosingSources.get(i), this.classNames.get(i)));
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.docs.commons.ParsingUtils;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.jboss.forge.roaster.model.source.MethodSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link ParsingUtils#readEnumClassNames(MethodSource)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParsingUtilsBenchmark {
+
+    private MethodSource<?> simple;
+
+    private MethodSource<?> merge;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // @formatter:off
+        JavaClassSource javaSource = Roaster.parse(JavaClassSource.class, "class MyClass {\n"
+                + "  Enum<?>[] simple() { return FooKeyName.values(); }\n"
+                + "  KeyName[] merge() { return KeyName.merge(FooKeyName.values(), BarKeyName.values(), BazKeyName.values()); }\n"
+                + "}");
+        // @formatter:on
+        this.simple = javaSource.getMethod("simple");
+        this.merge = javaSource.getMethod("merge");
+    }
+
+    @Benchmark
+    public Set<String> readEnumClassNamesSimple() {
+        return ParsingUtils.readEnumClassNames(this.simple);
+    }
+
+    @Benchmark
+    public Set<String> readEnumClassNamesMerge() {
+        return ParsingUtils.readEnumClassNames(this.merge);
+    }
+
+}
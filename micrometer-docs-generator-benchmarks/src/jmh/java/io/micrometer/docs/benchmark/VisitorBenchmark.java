@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.micrometer.docs.commons.DocGenerator;
+import io.micrometer.docs.commons.JavaSourceScanner;
+import io.micrometer.docs.conventions.ObservationConventionsDocGenerator;
+import io.micrometer.docs.metrics.MetricsDocGenerator;
+import io.micrometer.docs.spans.SpansDocGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks for the metrics, spans and observation conventions visitors. The corpus is
+ * indexed and parsed before each invocation, so that only visiting the parsed sources is
+ * measured, starting with empty search caches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VisitorBenchmark {
+
+    @Param({ "metrics", "spans", "conventions" })
+    String visitor;
+
+    private Path output;
+
+    private DocGenerator generator;
+
+    private JavaSourceScanner scanner;
+
+    @Setup(Level.Trial)
+    public void setupGenerator(Corpus corpus) throws Exception {
+        this.output = Files.createTempFile("micrometer-docs", ".adoc");
+        File root = corpus.root.toFile();
+        Pattern pattern = Pattern.compile(".*");
+        switch (this.visitor) {
+            case "metrics":
+                this.generator = new MetricsDocGenerator(root, pattern, "templates/metrics.adoc.hbs", this.output);
+                break;
+            case "spans":
+                this.generator = new SpansDocGenerator(root, pattern, "templates/spans.adoc.hbs", this.output);
+                break;
+            case "conventions":
+                this.generator = new ObservationConventionsDocGenerator(root, pattern, "templates/conventions.adoc.hbs",
+                        this.output);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown visitor " + this.visitor);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupScanner(Corpus corpus) {
+        this.scanner = JavaSourceScanner.create(corpus.root, Pattern.compile(".*"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(this.output);
+    }
+
+    @Benchmark
+    public void scan() {
+        this.scanner.scan(Collections.singletonList(this.generator.createVisitor(this.scanner.getSearchHelper())));
+    }
+
+}
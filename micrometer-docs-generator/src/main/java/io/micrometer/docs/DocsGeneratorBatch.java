@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.ParameterException;
+
+/**
+ * Generates documentation for the projects listed in a manifest in one JVM, so that the
+ * JVM startup, class loading and JIT warm-up are paid once.
+ * <p>
+ * Each line of the manifest holds the arguments of one project, as given to
+ * {@link DocsGeneratorCommand}. Arguments are separated by whitespaces and can be quoted
+ * with double quotes. Blank lines and lines starting with {@code #} are ignored. <pre>
+ * # project root, inclusion pattern, output directory, and options
+ * modules/foo ".*" build/docs/foo --metrics
+ * modules/foo ".*" build/docs/foo-spans --spans --spans-template=templates/my-spans.adoc.hbs
+ * modules/bar ".*" build/docs/bar --cache-dir=build/docs-cache/bar
+ * </pre> Projects with the same project root, inclusion and exclusion patterns, cache
+ * directory and parallelism share a single
+ * {@link io.micrometer.docs.commons.JavaSourceScanner}, so that their java files are
+ * indexed and parsed once. Other projects are generated concurrently.
+ */
+class DocsGeneratorBatch {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(DocsGeneratorBatch.class);
+
+    private final Path manifest;
+
+    private final int threads;
+
+    DocsGeneratorBatch(Path manifest, int threads) {
+        this.manifest = manifest;
+        this.threads = threads;
+    }
+
+    void run() {
+        List<DocsGeneratorCommand> commands = readManifest(this.manifest);
+        Map<List<Object>, List<DocsGeneratorCommand>> groups = group(commands);
+        int threads = Math.max(1, Math.min(this.threads, groups.size()));
+        logger.info("Generating documentation for {} projects in {} scans with {} threads", commands.size(),
+                groups.size(), threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<String> failures = new ArrayList<>();
+        try {
+            Map<List<Object>, Future<?>> futures = new LinkedHashMap<>();
+            groups.forEach((settings, group) -> futures.put(settings,
+                    executor.submit(() -> DocsGeneratorCommand.generate(group))));
+            for (Map.Entry<List<Object>, Future<?>> entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                }
+                catch (ExecutionException ex) {
+                    logger.error("Failed to generate documentation for " + entry.getKey().get(0), ex.getCause());
+                    failures.add(entry.getKey().get(0) + ": " + ex.getCause());
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating documentation.", ex);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(
+                    "Failed to generate documentation for " + failures.size() + " of " + groups.size() + " scans:"
+                            + System.lineSeparator() + String.join(System.lineSeparator(), failures));
+        }
+    }
+
+    /**
+     * Group the commands by their scan settings, in the order of the manifest.
+     * @param commands commands
+     * @return commands keyed by scan settings
+     */
+    static Map<List<Object>, List<DocsGeneratorCommand>> group(List<DocsGeneratorCommand> commands) {
+        Map<List<Object>, List<DocsGeneratorCommand>> groups = new LinkedHashMap<>();
+        Map<Path, List<Object>> cacheDirs = new HashMap<>();
+        for (DocsGeneratorCommand command : commands) {
+            List<Object> settings = command.getScanSettings();
+            Path cacheDir = command.getCacheDir();
+            if (cacheDir != null) {
+                // the cache files are keyed by paths relative to the project root
+                List<Object> existing = cacheDirs.putIfAbsent(cacheDir, settings);
+                if (existing != null && !existing.equals(settings)) {
+                    throw new IllegalArgumentException("Cache directory " + cacheDir
+                            + " is shared by projects with different scan settings: " + existing + ", " + settings);
+                }
+            }
+            groups.computeIfAbsent(settings, (key) -> new ArrayList<>()).add(command);
+        }
+        return groups;
+    }
+
+    static List<DocsGeneratorCommand> readManifest(Path manifest) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to read the batch manifest " + manifest, ex);
+        }
+        return parseManifest(lines, "the batch manifest " + manifest);
+    }
+
+    /**
+     * Parse the lines of a manifest.
+     * @param lines manifest lines
+     * @param description description of the manifest for error messages
+     * @return parsed commands
+     * @throws IllegalArgumentException if a line is invalid
+     */
+    static List<DocsGeneratorCommand> parseManifest(List<String> lines, String description) {
+        List<DocsGeneratorCommand> commands = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                commands.add(parseLine(line));
+            }
+            catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid line %d of %s: %s", i + 1, description, ex.getMessage()), ex);
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Parse the arguments of a project.
+     * @param line arguments of a project
+     * @return parsed command
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    static DocsGeneratorCommand parseLine(String line) {
+        DocsGeneratorCommand command = new DocsGeneratorCommand();
+        try {
+            new CommandLine(command).parseArgs(tokenize(line).toArray(new String[0]));
+            command.validateProjectArguments();
+            command.validateManifestArguments();
+        }
+        catch (ParameterException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+        return command;
+    }
+
+    /**
+     * Split a manifest line into arguments. Whitespaces in double quotes are kept.
+     * @param line manifest line
+     * @return arguments
+     */
+    static List<String> tokenize(String line) {
+        List<String> arguments = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        boolean inArgument = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inArgument = true;
+            }
+            else if (Character.isWhitespace(c) && !quoted) {
+                if (inArgument) {
+                    arguments.add(sb.toString());
+                    sb.setLength(0);
+                    inArgument = false;
+                }
+            }
+            else {
+                sb.append(c);
+                inArgument = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote in: " + line);
+        }
+        if (inArgument) {
+            arguments.add(sb.toString());
+        }
+        return arguments;
+    }
+
+}
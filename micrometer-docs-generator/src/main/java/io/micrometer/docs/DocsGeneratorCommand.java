@@ -17,22 +17,42 @@ package io.micrometer.docs;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.docs.commons.DocGenerator;
+import io.micrometer.docs.commons.DocumentWriter;
+import io.micrometer.docs.commons.JavaSourceScanner;
+import io.micrometer.docs.commons.JavaSourceWatcher;
+import io.micrometer.docs.commons.Profiler;
 import io.micrometer.docs.conventions.ObservationConventionsDocGenerator;
 import io.micrometer.docs.metrics.MetricsDocGenerator;
 import io.micrometer.docs.spans.SpansDocGenerator;
+import io.micrometer.observation.ObservationRegistry;
 import picocli.CommandLine;
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Model.OptionSpec;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
 import picocli.CommandLine.ParseResult;
+import picocli.CommandLine.Spec;
 import picocli.CommandLine.UnmatchedArgumentException;
 
 /**
@@ -40,21 +60,31 @@ import picocli.CommandLine.UnmatchedArgumentException;
  *
  * @author Tadaya Tsuyukubo
  */
-@Command(mixinStandardHelpOptions = true, description = "Generate documentation from source files")
+@Command(mixinStandardHelpOptions = true, description = "Generate documentation from source files",
+        subcommands = ServeCommand.class)
 public class DocsGeneratorCommand implements Runnable {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(DocsGeneratorCommand.class);
 
+    /**
+     * Options that apply to the batch itself. Project options are set on each line of the
+     * manifest.
+     */
+    private static final List<String> BATCH_OPTIONS = Arrays.asList("--batch", "--batch-threads");
+
     @ArgGroup(exclusive = false)
     private final Options options = new Options();
 
-    @Parameters(index = "0", description = "The project root directory.")
+    @Spec
+    private CommandSpec spec;
+
+    @Parameters(index = "0", arity = "0..1", description = "The project root directory.")
     private File projectRoot;
 
-    @Parameters(index = "1", description = "The regex pattern for inclusion.")
+    @Parameters(index = "1", arity = "0..1", description = "The regex pattern for inclusion.")
     private Pattern inclusionPattern;
 
-    @Parameters(index = "2", description = "The output directory.")
+    @Parameters(index = "2", arity = "0..1", description = "The output directory.")
     private Path outputDir;
 
     @Option(names = "--metrics-template", defaultValue = "templates/metrics.adoc.hbs",
@@ -81,6 +111,54 @@ public class DocsGeneratorCommand implements Runnable {
             description = "Generated observation conventions filename. Absolute path or relative path to the output directory.")
     private Path conventionsOutput;
 
+    @Option(names = "--exclude", paramLabel = "<pattern>",
+            description = "The regex pattern for exclusion. Matching directories are skipped with their whole subtree. Can be specified multiple times.")
+    private List<Pattern> exclusionPatterns = new ArrayList<>();
+
+    @Option(names = "--parallelism", defaultValue = "1",
+            description = "Number of threads used to index java files. Defaults to ${DEFAULT-VALUE}.")
+    private int parallelism;
+
+    @Option(names = "--cache-dir",
+            description = "Directory to keep the class index and extracted entries between runs. When set, only changed java files are parsed and visited again.")
+    private Path cacheDir;
+
+    @Option(names = "--atomic-write",
+            description = "Render each document to a temporary file first, then move it over the output file.")
+    private boolean atomicWrite;
+
+    @Option(names = "--write-if-changed",
+            description = "Leave output files untouched when their content has not changed, so that their modification time is kept.")
+    private boolean writeIfChanged;
+
+    @Option(names = "--profile",
+            description = "Report the time spent in each phase and the work done, as a table in the log and as a JSON file.")
+    private boolean profile;
+
+    @Option(names = "--profile-output", defaultValue = "docs-generator-profile.json",
+            description = "Profile report JSON filename. Absolute path or relative path to the output directory.")
+    private Path profileOutput;
+
+    @Option(names = "--instrumentation",
+            description = "Instrument the generator with Micrometer and log the recorded meters when done.")
+    private boolean instrumentation;
+
+    @Option(names = "--batch", paramLabel = "<manifest>",
+            description = "Generate documentation for the projects listed in the manifest in one run, instead of the project given by the arguments. Each line of the manifest holds the arguments of one project.")
+    private Path batchManifest;
+
+    @Option(names = "--batch-threads",
+            description = "Number of projects generated concurrently in batch mode. Defaults to the number of processors.")
+    private Integer batchThreads;
+
+    @Option(names = "--watch",
+            description = "After generating, keep watching the java files of the project and generate again when they change. Only the changed java files are parsed again, and output files are only written when their content has changed.")
+    private boolean watch;
+
+    @Option(names = "--watch-debounce", defaultValue = "200", paramLabel = "<millis>",
+            description = "Time without further changes before generating again in watch mode. Defaults to ${DEFAULT-VALUE}.")
+    private long watchDebounceMillis;
+
     public static void main(String... args) {
         DocsGeneratorCommand command = new DocsGeneratorCommand();
         // Do not call "System.exit" here since exec-maven-plugin's "exec:java" halts the
@@ -97,17 +175,15 @@ public class DocsGeneratorCommand implements Runnable {
         CommandLine cmd = new CommandLine(runnable);
         try {
             ParseResult parseResult = cmd.parseArgs(args);
-            // Did user request usage help (--help)?
-            if (cmd.isUsageHelpRequested()) {
-                cmd.usage(cmd.getOut());
+            // Did user request usage help (--help) or version help (--version)?
+            if (CommandLine.printHelpIfRequested(parseResult)) {
                 return;
             }
-            // Did user request version help (--version)?
-            else if (cmd.isVersionHelpRequested()) {
-                cmd.printVersionHelp(cmd.getOut());
+            // invoke the business logic, of the subcommand if specified
+            if (parseResult.hasSubcommand()) {
+                ((Runnable) parseResult.subcommand().commandSpec().userObject()).run();
                 return;
             }
-            // invoke the business logic
             runnable.run();
         }
         // invalid user input: print error message and usage help
@@ -127,38 +203,262 @@ public class DocsGeneratorCommand implements Runnable {
 
     @Override
     public void run() {
-        this.inclusionPattern = Pattern.compile(this.inclusionPattern.pattern().replace("/", File.separator));
+        if (this.batchManifest != null) {
+            if (this.projectRoot != null) {
+                throw new ParameterException(this.spec.commandLine(),
+                        "Project arguments are read from the batch manifest and cannot be used with --batch");
+            }
+            List<String> projectOptions = this.spec.commandLine()
+                .getParseResult()
+                .matchedOptions()
+                .stream()
+                .map(OptionSpec::longestName)
+                .filter((name) -> !BATCH_OPTIONS.contains(name))
+                .distinct()
+                .collect(Collectors.toList());
+            if (!projectOptions.isEmpty()) {
+                throw new ParameterException(this.spec.commandLine(), String.join(", ", projectOptions)
+                        + " cannot be used with --batch, set them on the lines of the batch manifest instead");
+            }
+            int threads = (this.batchThreads != null) ? this.batchThreads : Runtime.getRuntime().availableProcessors();
+            new DocsGeneratorBatch(this.batchManifest, threads).run();
+            return;
+        }
+        validateProjectArguments();
+        if (this.watch) {
+            watch();
+            return;
+        }
+        generate(Collections.singletonList(this));
+    }
+
+    void validateProjectArguments() {
+        if (this.projectRoot == null || this.inclusionPattern == null || this.outputDir == null) {
+            throw new ParameterException(this.spec.commandLine(),
+                    "Missing required parameters: '<projectRoot>', '<inclusionPattern>', '<outputDir>'");
+        }
+    }
+
+    void validateManifestArguments() {
+        if (this.batchManifest != null) {
+            throw new ParameterException(this.spec.commandLine(), "--batch cannot be used in a batch manifest");
+        }
+        if (this.watch) {
+            throw new ParameterException(this.spec.commandLine(), "--watch cannot be used in a batch manifest");
+        }
+    }
+
+    /**
+     * Generate the documentation, then generate it again each time the java files of the
+     * project change, until interrupted.
+     */
+    private void watch() {
+        // only rewrite the outputs affected by a change, so that previews only reload
+        // them
+        this.writeIfChanged = true;
+        normalizePatterns();
+        WarmScan scan = new WarmScan(this.cacheDir);
+        Runtime.getRuntime().addShutdownHook(new Thread(scan::deleteTemporaryCacheDirectory));
+        // watch before the first generation so that no change is missed
+        try (JavaSourceWatcher watcher = new JavaSourceWatcher(this.projectRoot.toPath(), this.inclusionPattern,
+                this.exclusionPatterns, this.watchDebounceMillis)) {
+            while (true) {
+                try {
+                    generate(Collections.singletonList(this), scan);
+                }
+                catch (RuntimeException ex) {
+                    // e.g. a half edited file, keep watching for the fix
+                    logger.error("Failed to generate the documentation", ex);
+                }
+                logger.info("Watching {} for changes", this.projectRoot);
+                Set<Path> changed = watcher.awaitChanges();
+                logger.info("Changed java files: {}", changed);
+                scan.invalidate(changed);
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to stop watching " + this.projectRoot, ex);
+        }
+        finally {
+            scan.deleteTemporaryCacheDirectory();
+        }
+    }
+
+    /**
+     * Generate the documentation of the given commands. The commands must have the same
+     * {@link #getScanSettings() scan settings}, so that the project is walked and parsed
+     * once for the generators of all commands.
+     * @param commands commands to run
+     */
+    static void generate(List<DocsGeneratorCommand> commands) {
+        generate(commands, UnaryOperator.identity());
+    }
+
+    /**
+     * Generate the documentation of the given commands with a customized
+     * {@link JavaSourceScanner}.
+     * @param commands commands to run with the same scan settings
+     * @param customizer customizer of the scanner builder
+     * @return document writer of each command
+     */
+    static List<DocumentWriter> generate(List<DocsGeneratorCommand> commands,
+            UnaryOperator<JavaSourceScanner.Builder> customizer) {
+        Profiler profiler = new Profiler();
+        SimpleMeterRegistry meterRegistry = null;
+        ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+        if (commands.stream().anyMatch((command) -> command.instrumentation)) {
+            meterRegistry = new SimpleMeterRegistry();
+            observationRegistry = ObservationRegistry.create();
+            observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        }
+        List<DocumentWriter> documentWriters = new ArrayList<>();
+        List<DocGenerator> generators = new ArrayList<>();
+        for (DocsGeneratorCommand command : commands) {
+            command.prepare();
+            DocumentWriter documentWriter = new DocumentWriter(command.atomicWrite, command.writeIfChanged, profiler);
+            documentWriters.add(documentWriter);
+            generators.addAll(command.createGenerators(documentWriter));
+        }
+
+        // walk and parse the project once for all generators
+        DocsGeneratorCommand first = commands.get(0);
+        JavaSourceScanner.Builder builder = JavaSourceScanner
+            .builder(first.projectRoot.toPath(), first.inclusionPattern)
+            .exclusionPatterns(first.exclusionPatterns)
+            .parallelism(first.parallelism)
+            .cacheDirectory(first.cacheDir)
+            .profiler(profiler)
+            .observationRegistry(observationRegistry)
+            .meterRegistry(meterRegistry);
+        customizer.apply(builder).build().generate(generators);
+
+        for (int i = 0; i < commands.size(); i++) {
+            commands.get(i).report(documentWriters.get(i), profiler, meterRegistry);
+        }
+        return documentWriters;
+    }
+
+    private void prepare() {
+        normalizePatterns();
         logger.info("Project root: {}", this.projectRoot);
         logger.info("Inclusion pattern: {}", this.inclusionPattern);
         logger.info("Output root: {}", this.outputDir);
 
         this.options.setAllIfNoneSpecified();
+    }
+
+    private void normalizePatterns() {
+        this.inclusionPattern = Pattern.compile(this.inclusionPattern.pattern().replace("/", File.separator));
+        this.exclusionPatterns = this.exclusionPatterns.stream()
+            .map(pattern -> Pattern.compile(pattern.pattern().replace("/", File.separator)))
+            .collect(Collectors.toList());
+    }
+
+    private List<DocGenerator> createGenerators(DocumentWriter documentWriter) {
+        List<DocGenerator> generators = new ArrayList<>();
         if (this.options.metrics) {
-            generateMetricsDoc();
+            generators.add(createMetricsDocGenerator(documentWriter));
         }
         if (this.options.spans) {
-            generateSpansDoc();
+            generators.add(createSpansDocGenerator(documentWriter));
         }
         if (this.options.conventions) {
-            generateConventionsDoc();
+            generators.add(createConventionsDocGenerator(documentWriter));
+        }
+        return generators;
+    }
+
+    private void report(DocumentWriter documentWriter, Profiler profiler, @Nullable SimpleMeterRegistry meterRegistry) {
+        logger.info("Changed outputs: {}", documentWriter.getChangedOutputs());
+        if (this.writeIfChanged) {
+            logger.info("Unchanged outputs: {}", documentWriter.getUnchangedOutputs());
+        }
+        if (this.profile) {
+            writeProfile(profiler);
+        }
+        if (this.instrumentation && meterRegistry != null) {
+            logger.info("Meters:{}{}", System.lineSeparator(), meterRegistry.getMetersAsString());
+        }
+    }
+
+    /**
+     * Settings deciding which java files are scanned and how. Commands with equal scan
+     * settings can share a {@link JavaSourceScanner}.
+     * @return scan settings
+     */
+    List<Object> getScanSettings() {
+        List<String> exclusions = this.exclusionPatterns.stream().map(Pattern::pattern).collect(Collectors.toList());
+        return Arrays.asList(normalize(this.projectRoot.toPath()), this.inclusionPattern.pattern(), exclusions,
+                getCacheDir(), this.parallelism);
+    }
+
+    /**
+     * Files and directories written when generating: the outputs of the enabled
+     * generators, the profile report, and the cache directory.
+     * @return normalized paths
+     */
+    List<Path> getWrittenPaths() {
+        boolean all = !this.options.metrics && !this.options.spans && !this.options.conventions;
+        List<Path> paths = new ArrayList<>();
+        if (all || this.options.metrics) {
+            paths.add(resolveOutputPath(this.metricsOutput));
+        }
+        if (all || this.options.spans) {
+            paths.add(resolveOutputPath(this.spansOutput));
+        }
+        if (all || this.options.conventions) {
+            paths.add(resolveOutputPath(this.conventionsOutput));
+        }
+        if (this.profile) {
+            paths.add(resolveOutputPath(this.profileOutput));
+        }
+        if (this.cacheDir != null) {
+            paths.add(this.cacheDir);
+        }
+        return paths.stream().map(DocsGeneratorCommand::normalize).collect(Collectors.toList());
+    }
+
+    @Nullable
+    Path getCacheDir() {
+        return (this.cacheDir != null) ? normalize(this.cacheDir) : null;
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private void writeProfile(Profiler profiler) {
+        logger.info("Profile:{}{}", System.lineSeparator(), profiler.formatTable());
+        Path output = resolveAndPrepareOutputPath(this.profileOutput);
+        try {
+            Files.write(output, profiler.toJson().getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to write the profile to " + output, ex);
         }
+        logger.info("Profile written to {}", output);
     }
 
-    void generateMetricsDoc() {
+    MetricsDocGenerator createMetricsDocGenerator(DocumentWriter documentWriter) {
         Path output = resolveAndPrepareOutputPath(this.metricsOutput);
-        new MetricsDocGenerator(this.projectRoot, this.inclusionPattern, this.metricsTemplate, output).generate();
+        return new MetricsDocGenerator(this.projectRoot, this.inclusionPattern, this.metricsTemplate, output,
+                documentWriter);
     }
 
-    void generateSpansDoc() {
+    SpansDocGenerator createSpansDocGenerator(DocumentWriter documentWriter) {
         Path output = resolveAndPrepareOutputPath(this.spansOutput);
-        new SpansDocGenerator(this.projectRoot, this.inclusionPattern, this.spansTemplate, output).generate();
+        return new SpansDocGenerator(this.projectRoot, this.inclusionPattern, this.spansTemplate, output,
+                documentWriter);
     }
 
-    void generateConventionsDoc() {
+    ObservationConventionsDocGenerator createConventionsDocGenerator(DocumentWriter documentWriter) {
         Path output = resolveAndPrepareOutputPath(this.conventionsOutput);
-        new ObservationConventionsDocGenerator(this.projectRoot, this.inclusionPattern, this.conventionsTemplate,
-                output)
-            .generate();
+        return new ObservationConventionsDocGenerator(this.projectRoot, this.inclusionPattern, this.conventionsTemplate,
+                output, documentWriter);
     }
 
     private Path resolveAndPrepareOutputPath(Path specified) {
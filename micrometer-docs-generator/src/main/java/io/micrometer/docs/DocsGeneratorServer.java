@@ -0,0 +1,293 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.DocumentWriter;
+
+/**
+ * Long-running generator accepting generation requests over HTTP on the loopback
+ * interface.
+ * <p>
+ * A request is a {@code POST} to {@value #GENERATE_PATH} with the arguments of one or
+ * more projects, one project per line, in the same format as a {@link DocsGeneratorBatch
+ * batch manifest}. Requests are handled one at a time. Between requests, the server keeps
+ * a {@link WarmScan} for each scan settings, and the compiled templates stay cached.
+ * <p>
+ * Since a request can write files anywhere the user can, each request must carry the
+ * random token generated when the server is created, as a bearer token in the
+ * {@code Authorization} header. Requests from web pages, i.e. with an {@code Origin}
+ * header or with a {@code Host} header other than a loopback address, are rejected. The
+ * written files can also be restricted to allowed output directories.
+ */
+class DocsGeneratorServer {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(DocsGeneratorServer.class);
+
+    static final String GENERATE_PATH = "/generate";
+
+    private final HttpServer httpServer;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private static final Pattern LOOPBACK_IPV4 = Pattern.compile("127(\\.\\d{1,3}){3}");
+
+    private final String token;
+
+    private final List<Path> allowedOutputDirectories;
+
+    // only accessed by the request handling thread
+    private final Map<List<Object>, WarmScan> scans = new HashMap<>();
+
+    /**
+     * Create a server listening on the loopback interface.
+     * @param port port, or {@code 0} to pick a free port
+     * @param allowedOutputDirectories directories where requests can write files, or an
+     * empty list to allow any directory
+     * @throws IOException if the server could not listen on the port
+     */
+    DocsGeneratorServer(int port, List<Path> allowedOutputDirectories) throws IOException {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        this.token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        this.allowedOutputDirectories = allowedOutputDirectories.stream()
+            .map((directory) -> directory.toAbsolutePath().normalize())
+            .collect(Collectors.toList());
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.httpServer.createContext(GENERATE_PATH, this::handle);
+        this.httpServer.setExecutor(this.executor);
+    }
+
+    void start() {
+        this.httpServer.start();
+        logger.info("Listening on http://{}:{}{}", InetAddress.getLoopbackAddress().getHostAddress(), getPort(),
+                GENERATE_PATH);
+        logger.info("Send the header \"Authorization: Bearer {}\" with each request", this.token);
+    }
+
+    String getToken() {
+        return this.token;
+    }
+
+    int getPort() {
+        return this.httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Block until the server is stopped.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitStop() throws InterruptedException {
+        this.stopped.await();
+    }
+
+    void stop() {
+        if (this.stopped.getCount() == 0) {
+            return;
+        }
+        this.httpServer.stop(0);
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (WarmScan scan : this.scans.values()) {
+            scan.deleteTemporaryCacheDirectory();
+        }
+        this.stopped.countDown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Headers headers = exchange.getRequestHeaders();
+            if (headers.containsKey("Origin") || !isLoopbackHost(headers.getFirst("Host"))) {
+                respond(exchange, 403, "Requests from web pages are not accepted.");
+                return;
+            }
+            if (!isAuthorized(headers.getFirst("Authorization"))) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+                respond(exchange, 401, "Send the token printed when the server started as a bearer token.");
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "POST the arguments of the projects to generate, one project per line.");
+                return;
+            }
+            respond(exchange, 200, generate(read(exchange.getRequestBody())));
+        }
+        catch (BadRequestException ex) {
+            respond(exchange, 400, ex.getMessage());
+        }
+        catch (Exception ex) {
+            logger.error("Failed to handle the generation request", ex);
+            // the response can only be sent if it has not been started already
+            if (exchange.getResponseCode() == -1) {
+                respond(exchange, 500, ex.toString());
+            }
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isAuthorized(@Nullable String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        byte[] given = authorization.substring("Bearer ".length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(given, this.token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether the {@code Host} header names a loopback address. Host names other than
+     * {@code localhost} are not resolved, so that a name rebound to the loopback address
+     * by a web page is rejected.
+     * @param host {@code Host} header
+     * @return {@code true} if the host is a loopback address
+     */
+    static boolean isLoopbackHost(@Nullable String host) {
+        if (host == null) {
+            return false;
+        }
+        String name = host.trim();
+        if (name.startsWith("[")) {
+            int end = name.indexOf(']');
+            if (end < 0) {
+                return false;
+            }
+            name = name.substring(1, end);
+        }
+        else if (name.indexOf(':') >= 0) {
+            name = name.substring(0, name.indexOf(':'));
+        }
+        return "localhost".equalsIgnoreCase(name) || "::1".equals(name) || LOOPBACK_IPV4.matcher(name).matches();
+    }
+
+    private void checkWrittenPaths(DocsGeneratorCommand command) {
+        if (this.allowedOutputDirectories.isEmpty()) {
+            return;
+        }
+        for (Path path : command.getWrittenPaths()) {
+            if (this.allowedOutputDirectories.stream().noneMatch(path::startsWith)) {
+                throw new BadRequestException(path + " is not in an allowed output directory");
+            }
+        }
+    }
+
+    /**
+     * Generate the documentation for the projects of a request.
+     * @param request arguments of the projects, one project per line
+     * @return summary of the generated outputs
+     * @throws BadRequestException if the request is invalid
+     */
+    String generate(String request) {
+        long start = System.nanoTime();
+        List<DocsGeneratorCommand> commands;
+        Map<List<Object>, List<DocsGeneratorCommand>> groups;
+        try {
+            commands = DocsGeneratorBatch.parseManifest(Arrays.asList(request.split("\\R")), "the request");
+            groups = DocsGeneratorBatch.group(commands);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage(), ex);
+        }
+        if (commands.isEmpty()) {
+            throw new BadRequestException("No project in the request");
+        }
+        commands.forEach(this::checkWrittenPaths);
+        List<Path> changedOutputs = new ArrayList<>();
+        for (Map.Entry<List<Object>, List<DocsGeneratorCommand>> entry : groups.entrySet()) {
+            WarmScan scan = this.scans.computeIfAbsent(entry.getKey(),
+                    (key) -> new WarmScan(entry.getValue().get(0).getCacheDir()));
+            List<DocumentWriter> documentWriters = DocsGeneratorCommand.generate(entry.getValue(), scan);
+            for (DocumentWriter documentWriter : documentWriters) {
+                changedOutputs.addAll(documentWriter.getChangedOutputs());
+            }
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return String.format("Generated %d projects in %d ms%nChanged outputs: %s%n", commands.size(), elapsed,
+                changedOutputs);
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Thrown when a request is invalid, answered with a {@code 400} response. Other
+     * failures are answered with a {@code 500} response.
+     */
+    static class BadRequestException extends RuntimeException {
+
+        BadRequestException(String message) {
+            super(message);
+        }
+
+        BadRequestException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+    }
+
+}
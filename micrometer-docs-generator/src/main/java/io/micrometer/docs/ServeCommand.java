@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Subcommand running a {@link DocsGeneratorServer} until the process is stopped.
+ */
+@Command(name = "serve", mixinStandardHelpOptions = true,
+        description = "Keep the generator running with warm caches, and generate documentation on requests. POST the arguments of one or more projects, one project per line, to http://127.0.0.1:<port>/generate with the token printed at startup as a bearer token.")
+class ServeCommand implements Runnable {
+
+    @Option(names = "--port", defaultValue = "9099",
+            description = "Port to listen on the loopback interface. 0 picks a free port. Defaults to ${DEFAULT-VALUE}.")
+    private int port;
+
+    @Option(names = "--allowed-output-dir", paramLabel = "<dir>",
+            description = "Directory where requests can write outputs, profiles and caches. Can be specified multiple times. Defaults to any directory.")
+    private List<Path> allowedOutputDirectories = new ArrayList<>();
+
+    @Override
+    public void run() {
+        DocsGeneratorServer server;
+        try {
+            server = new DocsGeneratorServer(this.port, this.allowedOutputDirectories);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Failed to listen on port " + this.port, ex);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        try {
+            server.awaitStop();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            server.stop();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.JavaSourceCache;
+import io.micrometer.docs.commons.JavaSourceScanner;
+
+/**
+ * State kept between the scans of the same project in a long-running generator. The
+ * parsed java files are kept in a {@link JavaSourceCache}, and, when no cache directory
+ * is given, the class index and the extracted entries are kept in a temporary one, so
+ * that only the java files changed since the previous scan are parsed and visited again.
+ * Changed files are detected by their size and last modified time, or can be
+ * {@link #invalidate(Collection) invalidated} when they are known, e.g. from file system
+ * events.
+ */
+class WarmScan implements UnaryOperator<JavaSourceScanner.Builder> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(WarmScan.class);
+
+    private final JavaSourceCache javaSourceCache = new JavaSourceCache();
+
+    @Nullable
+    private final Path cacheDirectory;
+
+    @Nullable
+    private Path temporaryCacheDirectory;
+
+    // reported since the last scan
+    private final Set<Path> modifiedPaths = new LinkedHashSet<>();
+
+    /**
+     * Create a warm scan.
+     * @param cacheDirectory cache directory given for the project, or {@code null} to use
+     * a temporary one
+     */
+    WarmScan(@Nullable Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Parse and index again the given files, and the files in the given directories, in
+     * the next scan.
+     * @param paths changed java files or directories
+     */
+    void invalidate(Collection<Path> paths) {
+        this.modifiedPaths.addAll(paths);
+    }
+
+    @Override
+    public JavaSourceScanner.Builder apply(JavaSourceScanner.Builder builder) {
+        List<Path> modified = new ArrayList<>(this.modifiedPaths);
+        this.modifiedPaths.clear();
+        return builder.javaSourceCache(this.javaSourceCache)
+            .cacheDirectory((this.cacheDirectory != null) ? this.cacheDirectory : getTemporaryCacheDirectory())
+            .modifiedPaths(modified);
+    }
+
+    private Path getTemporaryCacheDirectory() {
+        if (this.temporaryCacheDirectory == null) {
+            try {
+                this.temporaryCacheDirectory = Files.createTempDirectory("micrometer-docs-");
+            }
+            catch (IOException ex) {
+                throw new RuntimeException("Failed to create a temporary cache directory", ex);
+            }
+        }
+        return this.temporaryCacheDirectory;
+    }
+
+    /**
+     * Delete the temporary cache directory, if one was created.
+     */
+    void deleteTemporaryCacheDirectory() {
+        Path directory = this.temporaryCacheDirectory;
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach((path) -> path.toFile().delete());
+        }
+        catch (IOException ex) {
+            logger.warn("Failed to delete " + directory, ex);
+        }
+    }
+
+}
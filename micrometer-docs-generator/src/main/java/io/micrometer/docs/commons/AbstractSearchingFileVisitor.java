@@ -16,13 +16,13 @@
 
 package io.micrometer.docs.commons;
 
-import java.io.IOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -31,7 +31,6 @@ import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.docs.commons.utils.StringUtils;
-import org.jboss.forge.roaster.Roaster;
 import org.jboss.forge.roaster.model.source.EnumConstantSource;
 import org.jboss.forge.roaster.model.source.JavaEnumSource;
 import org.jboss.forge.roaster.model.source.JavaSource;
@@ -39,40 +38,81 @@ import org.jboss.forge.roaster.model.source.MethodSource;
 
 /**
  * Shared logic to process documentation enum classes.
+ * <p>
+ * Subclasses implementing {@link IncrementalJavaSourceVisitor} have their extracted
+ * entries cached between runs.
  *
  * @author Tadaya Tsuyukubo
  */
-public abstract class AbstractSearchingFileVisitor extends SimpleFileVisitor<Path> {
+public abstract class AbstractSearchingFileVisitor extends SimpleFileVisitor<Path> implements JavaSourceVisitor {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(AbstractSearchingFileVisitor.class);
 
+    /**
+     * Pattern of the files visited by {@link #visitFile(Path, BasicFileAttributes)}.
+     * @deprecated files are selected by the {@link JavaSourceScanner}
+     */
+    @Deprecated
+    @Nullable
     protected final Pattern pattern;
 
     protected final JavaSourceSearchHelper searchHelper;
 
+    public AbstractSearchingFileVisitor(JavaSourceSearchHelper searchHelper) {
+        this.pattern = null;
+        this.searchHelper = searchHelper;
+    }
+
+    /**
+     * Create a visitor to walk the file tree with.
+     * @param pattern pattern of the files to visit
+     * @param searchHelper search helper
+     * @deprecated in favor of
+     * {@link #AbstractSearchingFileVisitor(JavaSourceSearchHelper)} and passing the
+     * visitor to a {@link JavaSourceScanner}
+     */
+    @Deprecated
     public AbstractSearchingFileVisitor(Pattern pattern, JavaSourceSearchHelper searchHelper) {
         this.pattern = pattern;
         this.searchHelper = searchHelper;
     }
 
+    /**
+     * Parse the java file and pass it to {@link #visit(JavaSource)}.
+     * @deprecated in favor of passing the visitor to a {@link JavaSourceScanner}
+     */
     @Override
-    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
-        if (!this.pattern.matcher(path.toString()).matches()) {
+    @Deprecated
+    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+        if (this.pattern != null && !this.pattern.matcher(path.toString()).matches()) {
             return FileVisitResult.CONTINUE;
         }
         else if (!path.toString().endsWith(".java")) {
             return FileVisitResult.CONTINUE;
         }
-
         logger.debug("Parsing [" + path + "]");
-        JavaSource<?> javaSource = Roaster.parse(JavaSource.class, path.toFile());
+        visit(this.searchHelper.getJavaSourceCache().get(path));
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public void visit(JavaSource<?> javaSource) {
+        processEnum(javaSource);
+    }
+
+    /**
+     * Call {@link #onEnumConstant(JavaEnumSource, EnumConstantSource)} for each enum
+     * constant when the given source is a documentation enum.
+     * @param javaSource parsed java source
+     */
+    protected void processEnum(JavaSource<?> javaSource) {
         if (!javaSource.isEnum()) {
-            return FileVisitResult.CONTINUE;
+            return;
         }
         JavaEnumSource enumSource = (JavaEnumSource) javaSource;
 
         if (supportedInterfaces().stream().noneMatch(enumSource::hasInterface)) {
-            return FileVisitResult.CONTINUE;
+            return;
         }
 
         logger.debug("Checking [" + javaSource.getName() + "]");
@@ -83,7 +123,7 @@ public abstract class AbstractSearchingFileVisitor extends SimpleFileVisitor<Pat
             throw new RuntimeException(message);
         }
         if (enumSource.getEnumConstants().size() == 0) {
-            return FileVisitResult.CONTINUE;
+            return;
         }
         for (EnumConstantSource enumConstant : enumSource.getEnumConstants()) {
             if (enumConstant.getBody().getMethods().isEmpty()) {
@@ -91,7 +131,11 @@ public abstract class AbstractSearchingFileVisitor extends SimpleFileVisitor<Pat
             }
             onEnumConstant(enumSource, enumConstant);
         }
-        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public JavaSourcePreFilter preFilter() {
+        return JavaSourcePreFilter.enumImplementingAny(supportedInterfaces());
     }
 
     public abstract Collection<Class<?>> supportedInterfaces();
@@ -126,7 +170,9 @@ public abstract class AbstractSearchingFileVisitor extends SimpleFileVisitor<Pat
             if (enclosingEnumClass == null || !enclosingEnumClass.isEnum()) {
                 throw new IllegalStateException("Cannot find enum class with name [" + enumClassName + "]");
             }
-            result.addAll(ParsingUtils.retrieveModelsFromEnum((JavaEnumSource) enclosingEnumClass, converter));
+            // the models are shared, callers must copy them before modifying
+            result.addAll(
+                    this.searchHelper.getEnumConstantEntryCache().get((JavaEnumSource) enclosingEnumClass, converter));
         }
         return result;
     }
@@ -154,6 +200,24 @@ public abstract class AbstractSearchingFileVisitor extends SimpleFileVisitor<Pat
         return messages;
     }
 
+    /**
+     * Build the report for tag keys not starting with the prefix of their documented
+     * object.
+     * @param messages invalid tag messages
+     * @return the report, or empty if there are no invalid tags
+     */
+    protected List<String> prefixValidationReport(List<String> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        StringBuilder sb = new StringBuilder(
+                "The following documented objects do not have properly prefixed tag keys according to their prefix() method. Please align the tag keys.");
+        sb.append(System.lineSeparator()).append(System.lineSeparator());
+        sb.append(String.join(System.lineSeparator(), messages));
+        sb.append(System.lineSeparator()).append(System.lineSeparator());
+        return Collections.singletonList(sb.toString());
+    }
+
     protected static class NameInfo {
 
         private final String name;
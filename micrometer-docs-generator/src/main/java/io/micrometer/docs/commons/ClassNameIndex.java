@@ -0,0 +1,450 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+
+/**
+ * Compact index of class names.
+ * <p>
+ * Instead of keeping the canonical, qualified and simple names of every class as separate
+ * strings, a class is stored as int ids of its package name, enclosing class, simple name
+ * and file, and its names are built from these parts when needed. Package and simple
+ * names are interned into a single char array. Qualified and canonical names are looked
+ * up in open addressing hash tables of class ids, comparing the name parts in place.
+ * <pre>
+ * Example: "io.micrometer.Foo$Bar" in "io/micrometer/Foo.java"
+ *    class 0: package="io.micrometer", enclosing=none, simpleName="Foo", path=0
+ *    class 1: package=none, enclosing=0, simpleName="Bar", path=0
+ * </pre>
+ */
+final class ClassNameIndex {
+
+    private static final int NONE = -1;
+
+    private Path[] paths = new Path[16];
+
+    private int pathCount;
+
+    private char[] names = new char[1024];
+
+    private int namesLength;
+
+    // start of each interned name in "names", followed by the end of the last name
+    private int[] nameOffsets = new int[64];
+
+    private int nameCount;
+
+    // per class, indexed by class id
+    private int[] pathIds = new int[64];
+
+    private int[] packageIds = new int[64];
+
+    private int[] enclosingIds = new int[64];
+
+    private int[] simpleNameIds = new int[64];
+
+    private int classCount;
+
+    // class id + 1 by qualified name, 0 for empty slots
+    private int[] qualifiedNameTable = new int[tableCapacity(0)];
+
+    // class id + 1 by canonical name. different classes may share a canonical name.
+    private int[] canonicalNameTable = new int[tableCapacity(0)];
+
+    private int size;
+
+    private ClassNameIndex() {
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Number of indexed classes.
+     * @return number of classes
+     */
+    int size() {
+        return this.size;
+    }
+
+    boolean contains(String qualifiedName) {
+        return find(qualifiedName) != NONE;
+    }
+
+    /**
+     * Retrieve the file declaring the given class.
+     * @param qualifiedName qualified class name
+     * @return java file or {@code null} if not found
+     */
+    @Nullable
+    Path getPath(String qualifiedName) {
+        int id = find(qualifiedName);
+        return (id == NONE) ? null : this.paths[this.pathIds[id]];
+    }
+
+    /**
+     * Build the names of the given class.
+     * @param qualifiedName qualified class name
+     * @return path info or {@code null} if not found
+     */
+    @Nullable
+    JavaSourcePathInfo get(String qualifiedName) {
+        int id = find(qualifiedName);
+        if (id == NONE) {
+            return null;
+        }
+        return new JavaSourcePathInfo(this.paths[this.pathIds[id]], buildName(id, '.'), qualifiedName,
+                name(this.simpleNameIds[id]));
+    }
+
+    /**
+     * Retrieve the qualified names of the classes with the given canonical name. In rare
+     * case, different qualified names can be the same canonical name.
+     * @param canonicalName canonical class name
+     * @return qualified names
+     */
+    List<String> getQualifiedNames(String canonicalName) {
+        int mask = this.canonicalNameTable.length - 1;
+        List<String> result = Collections.emptyList();
+        for (int i = canonicalName.hashCode() & mask;; i = (i + 1) & mask) {
+            int slot = this.canonicalNameTable[i];
+            if (slot == 0) {
+                return result;
+            }
+            if (matches(slot - 1, canonicalName, '.')) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>(1);
+                }
+                result.add(buildName(slot - 1, '$'));
+            }
+        }
+    }
+
+    /**
+     * Retrieve the qualified name of a class in the given package.
+     * @param packageName package name
+     * @param className class name relative to the package. e.g. "Foo", "Foo$Bar"
+     * @return qualified name or {@code null} if not found
+     */
+    @Nullable
+    String getQualifiedName(String packageName, String className) {
+        String qualifiedName = packageName + "." + className;
+        int id = find(qualifiedName);
+        if (id == NONE) {
+            return null;
+        }
+        while (this.enclosingIds[id] != NONE) {
+            id = this.enclosingIds[id];
+        }
+        int packageId = this.packageIds[id];
+        if (packageId == NONE || nameLength(packageId) != packageName.length()
+                || !nameEquals(packageId, packageName, 0)) {
+            return null;
+        }
+        return qualifiedName;
+    }
+
+    /**
+     * Qualified names of all indexed classes.
+     * @return qualified names
+     */
+    List<String> getQualifiedNames() {
+        List<String> result = new ArrayList<>(this.size);
+        for (int slot : this.qualifiedNameTable) {
+            if (slot != 0) {
+                result.add(buildName(slot - 1, '$'));
+            }
+        }
+        return result;
+    }
+
+    private int find(String qualifiedName) {
+        int slot = findSlot(qualifiedName);
+        return (slot == NONE) ? NONE : this.qualifiedNameTable[slot] - 1;
+    }
+
+    private int findSlot(String qualifiedName) {
+        int mask = this.qualifiedNameTable.length - 1;
+        for (int i = qualifiedName.hashCode() & mask;; i = (i + 1) & mask) {
+            int slot = this.qualifiedNameTable[i];
+            if (slot == 0) {
+                return NONE;
+            }
+            if (matches(slot - 1, qualifiedName, '$')) {
+                return i;
+            }
+        }
+    }
+
+    private boolean matches(int id, String name, char nestedSeparator) {
+        return matchStart(id, name, name.length(), nestedSeparator) == 0;
+    }
+
+    // match the names of the class against the end of the given name, from the simple
+    // name back to the package name, and return the start index of the match
+    private int matchStart(int id, String name, int end, char nestedSeparator) {
+        int simpleNameId = this.simpleNameIds[id];
+        int start = end - nameLength(simpleNameId);
+        if (start < 0 || !nameEquals(simpleNameId, name, start)) {
+            return NONE;
+        }
+        int enclosingId = this.enclosingIds[id];
+        if (enclosingId != NONE) {
+            if (start == 0 || name.charAt(start - 1) != nestedSeparator) {
+                return NONE;
+            }
+            return matchStart(enclosingId, name, start - 1, nestedSeparator);
+        }
+        int packageId = this.packageIds[id];
+        if (packageId == NONE) {
+            return start;
+        }
+        int packageStart = start - 1 - nameLength(packageId);
+        if (packageStart < 0 || name.charAt(start - 1) != '.' || !nameEquals(packageId, name, packageStart)) {
+            return NONE;
+        }
+        return packageStart;
+    }
+
+    private String buildName(int id, char nestedSeparator) {
+        StringBuilder sb = new StringBuilder();
+        appendName(sb, id, nestedSeparator);
+        return sb.toString();
+    }
+
+    private void appendName(StringBuilder sb, int id, char nestedSeparator) {
+        int enclosingId = this.enclosingIds[id];
+        if (enclosingId != NONE) {
+            appendName(sb, enclosingId, nestedSeparator);
+            sb.append(nestedSeparator);
+        }
+        else if (this.packageIds[id] != NONE) {
+            int packageId = this.packageIds[id];
+            sb.append(this.names, this.nameOffsets[packageId], nameLength(packageId)).append('.');
+        }
+        int simpleNameId = this.simpleNameIds[id];
+        sb.append(this.names, this.nameOffsets[simpleNameId], nameLength(simpleNameId));
+    }
+
+    // same as String#hashCode() of the name built by buildName()
+    private int hashCode(int id, char nestedSeparator) {
+        int hash = 0;
+        int enclosingId = this.enclosingIds[id];
+        if (enclosingId != NONE) {
+            hash = 31 * hashCode(enclosingId, nestedSeparator) + nestedSeparator;
+        }
+        else if (this.packageIds[id] != NONE) {
+            hash = 31 * nameHashCode(0, this.packageIds[id]) + '.';
+        }
+        return nameHashCode(hash, this.simpleNameIds[id]);
+    }
+
+    private int nameHashCode(int hash, int nameId) {
+        for (int i = this.nameOffsets[nameId]; i < this.nameOffsets[nameId + 1]; i++) {
+            hash = 31 * hash + this.names[i];
+        }
+        return hash;
+    }
+
+    private String name(int nameId) {
+        return new String(this.names, this.nameOffsets[nameId], nameLength(nameId));
+    }
+
+    private int nameLength(int nameId) {
+        return this.nameOffsets[nameId + 1] - this.nameOffsets[nameId];
+    }
+
+    private boolean nameEquals(int nameId, String name, int start) {
+        int offset = this.nameOffsets[nameId];
+        int length = nameLength(nameId);
+        for (int i = 0; i < length; i++) {
+            if (this.names[offset + i] != name.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tableCapacity(int size) {
+        // keep the load factor at or below 0.5
+        int capacity = 16;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static void insert(int[] table, int hash, int id) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = id + 1;
+    }
+
+    /**
+     * Builder of {@link ClassNameIndex}. A nested class must be added after its enclosing
+     * class.
+     */
+    static final class Builder {
+
+        private final ClassNameIndex index = new ClassNameIndex();
+
+        private final Map<Path, Integer> pathIds = new IdentityHashMap<>();
+
+        private final Map<String, Integer> nameIds = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a class. A class with the same qualified name as an already added class
+         * replaces it.
+         * @param pathInfo class to add
+         * @return this builder
+         */
+        Builder add(JavaSourcePathInfo pathInfo) {
+            ClassNameIndex index = this.index;
+            String qualifiedName = pathInfo.qualifiedName;
+            int packageId = NONE;
+            int enclosingId = NONE;
+            int prefixLength = qualifiedName.length() - pathInfo.simpleName.length() - 1;
+            if (prefixLength >= 0) {
+                String prefix = qualifiedName.substring(0, prefixLength);
+                if (qualifiedName.charAt(prefixLength) == '$') {
+                    enclosingId = index.find(prefix);
+                }
+                if (enclosingId == NONE) {
+                    packageId = intern(prefix);
+                }
+            }
+
+            int id = index.classCount++;
+            if (id == index.pathIds.length) {
+                int capacity = id * 2;
+                index.pathIds = Arrays.copyOf(index.pathIds, capacity);
+                index.packageIds = Arrays.copyOf(index.packageIds, capacity);
+                index.enclosingIds = Arrays.copyOf(index.enclosingIds, capacity);
+                index.simpleNameIds = Arrays.copyOf(index.simpleNameIds, capacity);
+            }
+            index.pathIds[id] = this.pathIds.computeIfAbsent(pathInfo.path, this::addPath);
+            index.packageIds[id] = packageId;
+            index.enclosingIds[id] = enclosingId;
+            index.simpleNameIds[id] = intern(pathInfo.simpleName);
+            if (!index.matches(id, qualifiedName, '$') || !index.matches(id, pathInfo.canonicalName, '.')) {
+                throw new IllegalArgumentException(String.format("Unexpected class names: canonical=%s, qualified=%s",
+                        pathInfo.canonicalName, qualifiedName));
+            }
+
+            int existing = index.findSlot(qualifiedName);
+            if (existing != NONE) {
+                // the replaced class is kept since its nested classes may refer to it
+                index.qualifiedNameTable[existing] = id + 1;
+                return this;
+            }
+            index.size++;
+            if (index.size * 2 > index.qualifiedNameTable.length) {
+                index.qualifiedNameTable = rehash(index.qualifiedNameTable, '$');
+            }
+            insert(index.qualifiedNameTable, qualifiedName.hashCode(), id);
+            return this;
+        }
+
+        /**
+         * Trim the arrays and index the canonical names. The builder must not be used
+         * afterwards.
+         * @return built index
+         */
+        ClassNameIndex build() {
+            ClassNameIndex index = this.index;
+            index.paths = Arrays.copyOf(index.paths, index.pathCount);
+            index.names = Arrays.copyOf(index.names, index.namesLength);
+            index.nameOffsets = Arrays.copyOf(index.nameOffsets, index.nameCount + 1);
+            index.pathIds = Arrays.copyOf(index.pathIds, index.classCount);
+            index.packageIds = Arrays.copyOf(index.packageIds, index.classCount);
+            index.enclosingIds = Arrays.copyOf(index.enclosingIds, index.classCount);
+            index.simpleNameIds = Arrays.copyOf(index.simpleNameIds, index.classCount);
+
+            // only the classes remaining in the qualified name table, not the replaced
+            // ones, are looked up by canonical name
+            index.canonicalNameTable = new int[tableCapacity(index.size)];
+            for (int slot : index.qualifiedNameTable) {
+                if (slot != 0) {
+                    insert(index.canonicalNameTable, index.hashCode(slot - 1, '.'), slot - 1);
+                }
+            }
+            this.pathIds.clear();
+            this.nameIds.clear();
+            return index;
+        }
+
+        private int addPath(Path path) {
+            ClassNameIndex index = this.index;
+            if (index.pathCount == index.paths.length) {
+                index.paths = Arrays.copyOf(index.paths, index.pathCount * 2);
+            }
+            index.paths[index.pathCount] = path;
+            return index.pathCount++;
+        }
+
+        private int intern(String name) {
+            Integer nameId = this.nameIds.get(name);
+            if (nameId != null) {
+                return nameId;
+            }
+            ClassNameIndex index = this.index;
+            if (index.namesLength + name.length() > index.names.length) {
+                index.names = Arrays.copyOf(index.names,
+                        Math.max(index.names.length * 2, index.namesLength + name.length()));
+            }
+            if (index.nameCount + 2 > index.nameOffsets.length) {
+                index.nameOffsets = Arrays.copyOf(index.nameOffsets, index.nameOffsets.length * 2);
+            }
+            name.getChars(0, name.length(), index.names, index.namesLength);
+            index.namesLength += name.length();
+            index.nameCount++;
+            index.nameOffsets[index.nameCount] = index.namesLength;
+            this.nameIds.put(name, index.nameCount - 1);
+            return index.nameCount - 1;
+        }
+
+        private int[] rehash(int[] table, char nestedSeparator) {
+            int[] newTable = new int[table.length * 2];
+            for (int slot : table) {
+                if (slot != 0) {
+                    insert(newTable, this.index.hashCode(slot - 1, nestedSeparator), slot - 1);
+                }
+            }
+            return newTable;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+/**
+ * A documentation generator that collects its entries from a shared
+ * {@link JavaSourceScanner} scan.
+ */
+public interface DocGenerator {
+
+    /**
+     * Create a visitor that collects the documentation entries. Calling this method
+     * discards entries collected by a previous scan.
+     * @param searchHelper search helper for the scanned sources
+     * @return a visitor
+     */
+    JavaSourceVisitor createVisitor(JavaSourceSearchHelper searchHelper);
+
+    /**
+     * Render the collected entries to the output.
+     */
+    void render();
+
+}
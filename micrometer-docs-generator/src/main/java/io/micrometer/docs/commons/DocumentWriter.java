@@ -0,0 +1,273 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.jknack.handlebars.Template;
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.Profiler.Counter;
+import io.micrometer.docs.commons.Profiler.Phase;
+
+/**
+ * Renders a {@link Template} straight to the output file.
+ * <p>
+ * The rendered document is streamed to the file as UTF-8 through a buffered writer rather
+ * than being built up in memory first. When atomic writes are enabled, the document is
+ * rendered to a temporary file next to the output which then replaces the output, so that
+ * readers never see a partially written file.
+ */
+public class DocumentWriter {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(DocumentWriter.class);
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final boolean atomic;
+
+    private final boolean writeIfChanged;
+
+    @Nullable
+    private final Profiler profiler;
+
+    private final List<Path> changedOutputs = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Path> unchangedOutputs = Collections.synchronizedList(new ArrayList<>());
+
+    public DocumentWriter() {
+        this(false);
+    }
+
+    public DocumentWriter(boolean atomic) {
+        this(atomic, false);
+    }
+
+    /**
+     * Create a {@link DocumentWriter}.
+     * @param atomic whether to replace the output with a fully written temporary file
+     * @param writeIfChanged whether to leave the output untouched when its content would
+     * not change. The document is rendered to a temporary file in this case as well.
+     */
+    public DocumentWriter(boolean atomic, boolean writeIfChanged) {
+        this(atomic, writeIfChanged, null);
+    }
+
+    /**
+     * Create a {@link DocumentWriter}.
+     * @param atomic whether to replace the output with a fully written temporary file
+     * @param writeIfChanged whether to leave the output untouched when its content would
+     * not change
+     * @param profiler profiler to record the write time and the written bytes to, in its
+     * current scope
+     */
+    public DocumentWriter(boolean atomic, boolean writeIfChanged, @Nullable Profiler profiler) {
+        this.atomic = atomic;
+        this.writeIfChanged = writeIfChanged;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Render the template with the given context to the output file.
+     * @param template template
+     * @param context template context
+     * @param output output file
+     * @return {@code false} if the output was left untouched because its content did not
+     * change, {@code true} otherwise
+     * @throws IOException if rendering or writing the file failed
+     */
+    public boolean write(Template template, Object context, Path output) throws IOException {
+        if (this.profiler == null) {
+            return doWrite(template, context, output);
+        }
+        long start = System.nanoTime();
+        try {
+            return doWrite(template, context, output);
+        }
+        finally {
+            this.profiler.record(Phase.WRITE, System.nanoTime() - start);
+        }
+    }
+
+    private boolean doWrite(Template template, Object context, Path output) throws IOException {
+        if (!this.atomic && !this.writeIfChanged) {
+            render(template, context, output, null);
+            return record(output, true);
+        }
+        Path temp = createTempFile(output);
+        try {
+            if (this.writeIfChanged) {
+                MessageDigest digest = createDigest();
+                render(template, context, temp, digest);
+                if (Files.isRegularFile(output) && Arrays.equals(digest.digest(), hash(output))) {
+                    logger.debug("Output [" + output + "] is up to date");
+                    return record(output, false);
+                }
+            }
+            else {
+                render(template, context, temp, null);
+            }
+            move(temp, output);
+            return record(output, true);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Create the temporary file next to the output, with the permissions of the output if
+     * it exists. Otherwise it gets the default permissions of a new file, rather than the
+     * owner only permissions of {@link Files#createTempFile}, so that the moved file ends
+     * up as if it had been written directly.
+     * @param output output file
+     * @return created temporary file
+     * @throws IOException if the file could not be created
+     */
+    private static Path createTempFile(Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        Path temp = Files.createFile(parent.resolve(output.getFileName() + "." + UUID.randomUUID() + ".tmp"));
+        PosixFileAttributeView attributeView = Files.getFileAttributeView(output, PosixFileAttributeView.class);
+        if (attributeView != null && Files.isRegularFile(output)) {
+            try {
+                Files.setPosixFilePermissions(temp, attributeView.readAttributes().permissions());
+            }
+            catch (IOException ex) {
+                Files.deleteIfExists(temp);
+                throw ex;
+            }
+        }
+        return temp;
+    }
+
+    private boolean record(Path output, boolean changed) {
+        (changed ? this.changedOutputs : this.unchangedOutputs).add(output);
+        return changed;
+    }
+
+    private void render(Template template, Object context, Path file, @Nullable MessageDigest digest)
+            throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(Files.newOutputStream(file));
+        OutputStream out = counting;
+        if (digest != null) {
+            out = new DigestOutputStream(out, digest);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            template.apply(context, writer);
+        }
+        if (this.profiler != null) {
+            this.profiler.increment(Counter.BYTES_WRITTEN, counting.count);
+        }
+    }
+
+    private static byte[] hash(Path file) throws IOException {
+        MessageDigest digest = createDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Outputs whose content changed, or that were written without comparing their
+     * content.
+     * @return changed outputs in the order they were written
+     */
+    public List<Path> getChangedOutputs() {
+        synchronized (this.changedOutputs) {
+            return new ArrayList<>(this.changedOutputs);
+        }
+    }
+
+    /**
+     * Outputs left untouched since their content did not change.
+     * @return unchanged outputs in the order they were rendered
+     */
+    public List<Path> getUnchangedOutputs() {
+        synchronized (this.unchangedOutputs) {
+            return new ArrayList<>(this.unchangedOutputs);
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.forge.roaster.model.source.JavaEnumSource;
+
+/**
+ * Memoizes the models read from enum constants, keyed by the enum qualified name and the
+ * {@link EntryEnumConstantReader} type. Enums such as shared {@code KeyName} enums are
+ * referenced by many documented objects, and their constants would otherwise be read
+ * (including the javadoc conversion) for each of them.
+ * <p>
+ * The returned lists are unmodifiable and the models in them are shared. Callers that
+ * need to modify a model must modify a copy.
+ */
+public class EnumConstantEntryCache {
+
+    private final Map<Key, List<?>> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Retrieve the models of the given enum read by the given reader.
+     * @param enumSource enum source
+     * @param reader reader for each enum constant
+     * @param <T> model type
+     * @return unmodifiable shared list of models
+     * @see ParsingUtils#retrieveModelsFromEnum(JavaEnumSource, EntryEnumConstantReader)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(JavaEnumSource enumSource, EntryEnumConstantReader<?> reader) {
+        Key key = new Key(enumSource.getQualifiedName(), reader.getClass());
+        List<?> models = this.cache.get(key);
+        if (models != null) {
+            this.hitCount.incrementAndGet();
+            return (List<T>) models;
+        }
+        this.missCount.incrementAndGet();
+        models = Collections.unmodifiableList(ParsingUtils.retrieveModelsFromEnum(enumSource, reader));
+        this.cache.put(key, models);
+        return (List<T>) models;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    private static class Key {
+
+        private final String enumName;
+
+        private final Class<?> readerType;
+
+        Key(String enumName, Class<?> readerType) {
+            this.enumName = enumName;
+            this.readerType = readerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            Key key = (Key) o;
+            return this.enumName.equals(key.enumName) && this.readerType.equals(key.readerType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.enumName, this.readerType);
+        }
+
+    }
+
+}
@@ -16,6 +16,11 @@
 
 package io.micrometer.docs.commons;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.observation.Observation;
 import io.micrometer.tracing.docs.EventValue;
 
@@ -60,4 +65,27 @@ public class EventEntry implements Comparable<EventEntry> {
         this.description = description;
     }
 
+    /**
+     * Write this entry to the extracted entry cache.
+     * @param out output
+     * @throws IOException on write failure
+     */
+    public void write(DataOutput out) throws IOException {
+        DataStreamUtils.writeString(out, this.name);
+        DataStreamUtils.writeString(out, this.description);
+    }
+
+    /**
+     * Read an entry written by {@link #write(DataOutput)}.
+     * @param in input
+     * @return read entry
+     * @throws IOException on read failure
+     */
+    public static EventEntry read(DataInput in) throws IOException {
+        EventEntry entry = new EventEntry();
+        entry.name = DataStreamUtils.readString(in);
+        entry.description = DataStreamUtils.readString(in);
+        return entry;
+    }
+
 }
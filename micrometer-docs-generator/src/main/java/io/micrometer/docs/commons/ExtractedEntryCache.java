@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Entries extracted by {@link IncrementalJavaSourceVisitor visitors} cached per java file
+ * between runs.
+ * <p>
+ * Each cached result records the files of the classes resolved while extracting it. A
+ * result is reused when neither the java file nor any of its dependencies changed since
+ * the previous run, removed files counting as changed. When the declared classes have
+ * changed, i.e. a java file has been added or removed or declares other classes, every
+ * result is discarded because a class name may now resolve to another class.
+ * <p>
+ * The results are encoded by their {@link IncrementalJavaSourceVisitor visitor}. The file
+ * is only read by the generator version that wrote it, since the extraction logic may
+ * change between versions.
+ */
+class ExtractedEntryCache {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ExtractedEntryCache.class);
+
+    static final int MAGIC = 0x4d444745; // "MDGE"
+
+    static final int VERSION = 3;
+
+    static final String GENERATOR_VERSION = generatorVersion();
+
+    private final Path projectRoot;
+
+    private final Path file;
+
+    private final Set<String> changedPaths;
+
+    // cache name -> relative path -> result
+    private final Map<String, Map<String, CachedResult>> previous;
+
+    private final Map<String, Map<String, CachedResult>> current = new HashMap<>();
+
+    private long hitCount;
+
+    private long missCount;
+
+    private ExtractedEntryCache(Path projectRoot, Path file, Set<String> changedPaths,
+            Map<String, Map<String, CachedResult>> previous) {
+        this.projectRoot = projectRoot;
+        this.file = file;
+        this.changedPaths = changedPaths;
+        this.previous = previous;
+    }
+
+    /**
+     * Load the cache file.
+     * @param projectRoot project root directory
+     * @param file cache file
+     * @param symbolIndexFile symbol index of the current run, which knows the changed
+     * java files
+     * @return loaded cache
+     */
+    static ExtractedEntryCache load(Path projectRoot, Path file, SymbolIndexFile symbolIndexFile) {
+        Map<String, Map<String, CachedResult>> previous = Collections.emptyMap();
+        if (symbolIndexFile.hasChangedDeclarations()) {
+            logger.debug("Discarding extracted entry cache since the declared classes have changed");
+        }
+        else if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                previous = read(new DataInputStream(new BufferedInputStream(in)), Files.size(file));
+            }
+            catch (IOException ex) {
+                logger.debug("Ignoring unreadable extracted entry cache [" + file + "]: " + ex.getMessage());
+            }
+        }
+        return new ExtractedEntryCache(projectRoot, file, symbolIndexFile.getChangedPaths(), previous);
+    }
+
+    private static Map<String, Map<String, CachedResult>> read(DataInputStream in, long fileSize) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unsupported format");
+        }
+        String generatorVersion = in.readUTF();
+        if (!GENERATOR_VERSION.equals(generatorVersion)) {
+            throw new IOException("Written by generator version [" + generatorVersion + "]");
+        }
+        Map<String, Map<String, CachedResult>> caches = new HashMap<>();
+        int cacheCount = in.readInt();
+        for (int i = 0; i < cacheCount; i++) {
+            String cacheName = in.readUTF();
+            Map<String, CachedResult> results = new HashMap<>();
+            int resultCount = in.readInt();
+            for (int j = 0; j < resultCount; j++) {
+                String relativePath = in.readUTF();
+                byte[] extracted = null;
+                int length = in.readInt();
+                if (length != -1) {
+                    if (length < 0 || length > fileSize) {
+                        throw new IOException("Malformed entries of [" + relativePath + "]");
+                    }
+                    extracted = new byte[length];
+                    in.readFully(extracted);
+                }
+                Set<String> dependencies = new HashSet<>();
+                int dependencyCount = in.readInt();
+                for (int k = 0; k < dependencyCount; k++) {
+                    dependencies.add(in.readUTF());
+                }
+                results.put(relativePath, new CachedResult(extracted, dependencies));
+            }
+            caches.put(cacheName, results);
+        }
+        return caches;
+    }
+
+    private static void write(DataOutputStream out, Map<String, Map<String, CachedResult>> caches) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(GENERATOR_VERSION);
+        out.writeInt(caches.size());
+        for (Map.Entry<String, Map<String, CachedResult>> cache : caches.entrySet()) {
+            out.writeUTF(cache.getKey());
+            out.writeInt(cache.getValue().size());
+            for (Map.Entry<String, CachedResult> entry : cache.getValue().entrySet()) {
+                CachedResult result = entry.getValue();
+                out.writeUTF(entry.getKey());
+                if (result.extracted == null) {
+                    out.writeInt(-1);
+                }
+                else {
+                    out.writeInt(result.extracted.length);
+                    out.write(result.extracted);
+                }
+                out.writeInt(result.dependencies.size());
+                for (String dependency : result.dependencies) {
+                    out.writeUTF(dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * Identify the running generator by its implementation version. Snapshots and local
+     * builds share a version, so the size and modification time of the generator jar are
+     * added. Running from a classes directory, e.g. in tests, only uses the version.
+     * @return generator version
+     */
+    private static String generatorVersion() {
+        Package generatorPackage = ExtractedEntryCache.class.getPackage();
+        String implementationVersion = (generatorPackage != null) ? generatorPackage.getImplementationVersion() : null;
+        StringBuilder version = new StringBuilder((implementationVersion != null) ? implementationVersion : "unknown");
+        try {
+            CodeSource codeSource = ExtractedEntryCache.class.getProtectionDomain().getCodeSource();
+            if (codeSource != null) {
+                Path location = Paths.get(codeSource.getLocation().toURI());
+                if (Files.isRegularFile(location)) {
+                    version.append('/')
+                        .append(Files.size(location))
+                        .append('/')
+                        .append(Files.getLastModifiedTime(location).toMillis());
+                }
+            }
+        }
+        catch (IOException | URISyntaxException | RuntimeException ex) {
+            logger.debug("Cannot identify the generator jar: " + ex);
+        }
+        return version.toString();
+    }
+
+    /**
+     * Retrieve the cached result of a visitor for the given java file.
+     * @param cacheName cache name of the visitor
+     * @param path java file
+     * @return cached result, or {@code null} if the file needs to be visited
+     */
+    @Nullable
+    CachedResult lookup(String cacheName, Path path) {
+        String relativePath = relativize(path);
+        CachedResult result = this.previous.getOrDefault(cacheName, Collections.emptyMap()).get(relativePath);
+        if (result == null || this.changedPaths.contains(relativePath)
+                || result.dependencies.stream().anyMatch(this.changedPaths::contains)) {
+            this.missCount++;
+            return null;
+        }
+        this.current.computeIfAbsent(cacheName, (key) -> new HashMap<>()).put(relativePath, result);
+        this.hitCount++;
+        return result;
+    }
+
+    /**
+     * Record the result of a visitor for the given java file.
+     * @param cacheName cache name of the visitor
+     * @param path java file
+     * @param extracted extracted entries encoded by the visitor
+     * @param dependencies files of the classes resolved during the extraction
+     */
+    void record(String cacheName, Path path, @Nullable byte[] extracted, Set<Path> dependencies) {
+        Set<String> relativeDependencies = new HashSet<>();
+        for (Path dependency : dependencies) {
+            relativeDependencies.add(relativize(dependency));
+        }
+        this.current.computeIfAbsent(cacheName, (key) -> new HashMap<>())
+            .put(relativize(path), new CachedResult(extracted, relativeDependencies));
+    }
+
+    /**
+     * Write the results of the current run to the cache file.
+     */
+    void save() {
+        try {
+            Path parent = this.file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out, this.current);
+            }
+            try {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to write extracted entry cache " + this.file, ex);
+        }
+        logger.debug("Saved extracted entry cache [" + this.file + "]: hits=" + this.hitCount + ", misses="
+                + this.missCount);
+    }
+
+    long getHitCount() {
+        return this.hitCount;
+    }
+
+    long getMissCount() {
+        return this.missCount;
+    }
+
+    private String relativize(Path path) {
+        return this.projectRoot.relativize(path).toString();
+    }
+
+    static class CachedResult {
+
+        @Nullable
+        final byte[] extracted;
+
+        final Set<String> dependencies;
+
+        CachedResult(@Nullable byte[] extracted, Set<String> dependencies) {
+            this.extracted = extracted;
+            this.dependencies = dependencies;
+        }
+
+    }
+
+}
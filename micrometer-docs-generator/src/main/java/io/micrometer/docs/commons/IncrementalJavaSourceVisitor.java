@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import io.micrometer.common.lang.Nullable;
+import org.jboss.forge.roaster.model.source.JavaSource;
+
+/**
+ * {@link JavaSourceVisitor} whose result for each java file can be cached between runs.
+ * <p>
+ * What is extracted from a file must only depend on the file itself and the classes
+ * resolved through the {@link JavaSourceSearchHelper}, which are recorded as the
+ * dependencies of the cached result. The extracted entries are stored with
+ * {@link #write(Object, DataOutput)} and restored with {@link #read(DataInput)}.
+ *
+ * @param <T> type of the entries extracted from a java file
+ * @see ExtractedEntryCache
+ */
+public interface IncrementalJavaSourceVisitor<T> extends JavaSourceVisitor {
+
+    /**
+     * Name identifying the extracted results of this visitor in the cache.
+     * @return cache name
+     */
+    String getCacheName();
+
+    /**
+     * Extract the entries from a parsed top level {@link JavaSource} without adding them
+     * to this visitor.
+     * @param javaSource parsed java source
+     * @return extracted entries, or {@code null} if there is nothing to extract
+     */
+    @Nullable
+    T extract(JavaSource<?> javaSource);
+
+    /**
+     * Add entries returned by {@link #extract(JavaSource)}, either freshly extracted or
+     * from the cache.
+     * @param extracted extracted entries
+     */
+    void accept(T extracted);
+
+    /**
+     * Write entries returned by {@link #extract(JavaSource)} to the cache.
+     * @param extracted extracted entries
+     * @param out output
+     * @throws IOException on write failure
+     */
+    void write(T extracted, DataOutput out) throws IOException;
+
+    /**
+     * Read entries written by {@link #write(Object, DataOutput)}.
+     * @param in input
+     * @return extracted entries
+     * @throws IOException on read failure or malformed input
+     */
+    T read(DataInput in) throws IOException;
+
+    @Override
+    default void visit(JavaSource<?> javaSource) {
+        T extracted = extract(javaSource);
+        if (extracted != null) {
+            accept(extracted);
+        }
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+import org.jboss.forge.roaster.ParserException;
+
+/**
+ * Reads the type declarations of a java file without building a syntax tree.
+ * <p>
+ * Indexing only needs the names of the declared classes. Instead of parsing the whole
+ * file with Roaster, this lexes the source, skipping comments and literals, and tracks
+ * the package declaration and the braces of the type declarations. The result is the same
+ * as traversing the nested types of the parsed
+ * {@link org.jboss.forge.roaster.model.source.JavaSource}: the first top level type, and
+ * every type declared inside it, including local classes and classes in anonymous class
+ * bodies, which belong to the nearest enclosing declared type.
+ */
+final class JavaDeclarationIndexer {
+
+    private final Path path;
+
+    private final String source;
+
+    private final int length;
+
+    private int position;
+
+    private JavaDeclarationIndexer(Path path, String source) {
+        this.path = path;
+        this.source = source;
+        this.length = source.length();
+    }
+
+    /**
+     * Read the declared classes of the given java file.
+     * @param path java file
+     * @return path infos of the top level class and its nested classes
+     */
+    static List<JavaSourcePathInfo> index(Path path) {
+        String source;
+        try {
+            source = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to read " + path, ex);
+        }
+        return index(path, source);
+    }
+
+    static List<JavaSourcePathInfo> index(Path path, String source) {
+        return new JavaDeclarationIndexer(path, source).index();
+    }
+
+    private List<JavaSourcePathInfo> index() {
+        List<JavaSourcePathInfo> pathInfos = new ArrayList<>();
+        // enclosing blocks, null for blocks that are not type bodies
+        List<JavaSourcePathInfo> blocks = new ArrayList<>();
+        String packageName = null;
+        JavaSourcePathInfo pending = null;
+        int pendingParenDepth = 0;
+        int parenDepth = 0;
+        char previous = 0;
+
+        while (skipTrivia()) {
+            char c = this.source.charAt(this.position);
+            if (Character.isJavaIdentifierStart(c)) {
+                String word = readIdentifier();
+                if (previous != '.' && isTypeKeyword(word)) {
+                    String name = readTypeName(word);
+                    if (name != null) {
+                        JavaSourcePathInfo enclosing = enclosingType(blocks);
+                        if (enclosing == null && !pathInfos.isEmpty()) {
+                            // only the first top level type is read, like Roaster does
+                            break;
+                        }
+                        pending = createPathInfo(enclosing, packageName, name);
+                        pendingParenDepth = parenDepth;
+                        pathInfos.add(pending);
+                        previous = 'a';
+                        continue;
+                    }
+                }
+                else if (packageName == null && pathInfos.isEmpty() && blocks.isEmpty() && "package".equals(word)) {
+                    packageName = readQualifiedName();
+                    continue;
+                }
+                previous = 'a';
+                continue;
+            }
+            this.position++;
+            if (c == '"' || c == '\'') {
+                skipLiteral(c);
+                previous = 'a';
+                continue;
+            }
+            if (c == '(') {
+                parenDepth++;
+            }
+            else if (c == ')') {
+                parenDepth--;
+            }
+            else if (c == '{') {
+                if (pending != null && parenDepth == pendingParenDepth) {
+                    blocks.add(pending);
+                    pending = null;
+                }
+                else {
+                    blocks.add(null);
+                }
+            }
+            else if (c == '}' && !blocks.isEmpty()) {
+                JavaSourcePathInfo closed = blocks.remove(blocks.size() - 1);
+                if (closed != null && blocks.isEmpty()) {
+                    break; // end of the top level type
+                }
+            }
+            previous = c;
+        }
+
+        if (pathInfos.isEmpty()) {
+            if (packageName == null) {
+                throw new ParserException("Could not find type declaration in Java source - is this actually code?");
+            }
+            // Roaster represents a file without types as its package info
+            String name = packageName + ".package-info";
+            return Collections.singletonList(new JavaSourcePathInfo(this.path, name, name, "package-info"));
+        }
+        return pathInfos;
+    }
+
+    private static boolean isTypeKeyword(String word) {
+        return "class".equals(word) || "interface".equals(word) || "enum".equals(word) || "record".equals(word);
+    }
+
+    /**
+     * Read the name following a type keyword.
+     * @param keyword type keyword
+     * @return declared name or {@code null} if the keyword does not declare a type
+     */
+    @Nullable
+    private String readTypeName(String keyword) {
+        int start = this.position;
+        if (!skipTrivia() || !Character.isJavaIdentifierStart(this.source.charAt(this.position))) {
+            this.position = start;
+            return null;
+        }
+        String name = readIdentifier();
+        if ("record".equals(keyword)) {
+            // "record" is a restricted identifier, it declares a type only when followed
+            // by a name and the record header or type parameters
+            int afterName = this.position;
+            boolean header = skipTrivia()
+                    && (this.source.charAt(this.position) == '(' || this.source.charAt(this.position) == '<');
+            this.position = header ? afterName : start;
+            return header ? name : null;
+        }
+        return name;
+    }
+
+    @Nullable
+    private static JavaSourcePathInfo enclosingType(List<JavaSourcePathInfo> blocks) {
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            if (blocks.get(i) != null) {
+                return blocks.get(i);
+            }
+        }
+        return null;
+    }
+
+    private JavaSourcePathInfo createPathInfo(@Nullable JavaSourcePathInfo enclosing, @Nullable String packageName,
+            String name) {
+        if (enclosing != null) {
+            return new JavaSourcePathInfo(this.path, enclosing.canonicalName + "." + name,
+                    enclosing.qualifiedName + "$" + name, name);
+        }
+        String qualifiedName = (packageName != null) ? packageName + "." + name : name;
+        return new JavaSourcePathInfo(this.path, qualifiedName, qualifiedName, name);
+    }
+
+    // read "foo . bar . baz ;" as "foo.bar.baz"
+    private String readQualifiedName() {
+        StringBuilder sb = new StringBuilder();
+        while (skipTrivia()) {
+            char c = this.source.charAt(this.position);
+            if (Character.isJavaIdentifierStart(c)) {
+                sb.append(readIdentifier());
+                continue;
+            }
+            this.position++;
+            if (c != '.') {
+                break;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private String readIdentifier() {
+        int start = this.position;
+        while (this.position < this.length && Character.isJavaIdentifierPart(this.source.charAt(this.position))) {
+            this.position++;
+        }
+        return this.source.substring(start, this.position);
+    }
+
+    // skip the rest of a string, text block or char literal
+    private void skipLiteral(char quote) {
+        if (quote == '"' && this.source.startsWith("\"\"", this.position)) {
+            this.position += 2;
+            int end = this.source.indexOf("\"\"\"", this.position);
+            while (end > 0 && isEscaped(end)) {
+                end = this.source.indexOf("\"\"\"", end + 1);
+            }
+            this.position = (end < 0) ? this.length : end + 3;
+            return;
+        }
+        while (this.position < this.length) {
+            char c = this.source.charAt(this.position++);
+            if (c == '\\') {
+                this.position++;
+            }
+            else if (c == quote || c == '\n') {
+                return;
+            }
+        }
+    }
+
+    private boolean isEscaped(int index) {
+        int backslashes = 0;
+        while (index - backslashes - 1 >= 0 && this.source.charAt(index - backslashes - 1) == '\\') {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * Skip whitespaces and comments.
+     * @return {@code true} if there are more characters to read
+     */
+    private boolean skipTrivia() {
+        while (this.position < this.length) {
+            char c = this.source.charAt(this.position);
+            if (Character.isWhitespace(c)) {
+                this.position++;
+            }
+            else if (this.source.startsWith("//", this.position)) {
+                int end = this.source.indexOf('\n', this.position);
+                this.position = (end < 0) ? this.length : end + 1;
+            }
+            else if (this.source.startsWith("/*", this.position)) {
+                int end = this.source.indexOf("*/", this.position + 2);
+                this.position = (end < 0) ? this.length : end + 2;
+            }
+            else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.micrometer.common.lang.Nullable;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.JavaSource;
+
+/**
+ * LRU cache of parsed java files keyed by path.
+ * <p>
+ * The number of cached files is bounded, and each value is softly referenced, so that the
+ * garbage collector can reclaim parsed files under memory pressure before the size bound
+ * is reached. The size and last modified time of each file are recorded when it is
+ * parsed, so that a cache kept between scans can {@link #evictModified() evict} the files
+ * changed since. Files known to have changed, e.g. reported by a
+ * {@link JavaSourceWatcher}, can also be {@link #evict(Collection) evicted} directly, for
+ * changes which kept the size and the last modified time.
+ */
+public class JavaSourceCache {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final Map<Path, CachedSource> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong parseNanos = new AtomicLong();
+
+    public JavaSourceCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public JavaSourceCache(int maxSize) {
+        this.cache = new LinkedHashMap<Path, CachedSource>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedSource> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Retrieve the parsed top level {@link JavaSource} of the given file. The file is
+     * parsed and cached on a cache miss.
+     * @param path java file path
+     * @return parsed java source
+     */
+    public JavaSource<?> get(Path path) {
+        JavaSource<?> javaSource = getIfPresent(path);
+        if (javaSource != null) {
+            this.hitCount.incrementAndGet();
+            return javaSource;
+        }
+        this.missCount.incrementAndGet();
+        long start = System.nanoTime();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            javaSource = Roaster.parse(JavaSource.class, path.toFile());
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to parse " + path, ex);
+        }
+        finally {
+            this.parseNanos.addAndGet(System.nanoTime() - start);
+        }
+        synchronized (this.cache) {
+            this.cache.put(path, new CachedSource(javaSource, attributes));
+        }
+        return javaSource;
+    }
+
+    /**
+     * Evict the files modified or deleted since they were parsed.
+     * @return number of evicted files
+     */
+    public int evictModified() {
+        Map<Path, CachedSource> entries;
+        synchronized (this.cache) {
+            entries = new LinkedHashMap<>(this.cache);
+        }
+        int evicted = 0;
+        for (Map.Entry<Path, CachedSource> entry : entries.entrySet()) {
+            if (entry.getValue().isModified(entry.getKey())) {
+                synchronized (this.cache) {
+                    this.cache.remove(entry.getKey(), entry.getValue());
+                }
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Evict the given files, and the files in the given directories.
+     * @param paths java files or directories
+     * @return number of evicted files
+     */
+    public int evict(Collection<Path> paths) {
+        if (paths.isEmpty()) {
+            return 0;
+        }
+        List<Path> absolutePaths = paths.stream().map(JavaSourceCache::toAbsolute).collect(Collectors.toList());
+        int evicted = 0;
+        synchronized (this.cache) {
+            Iterator<Path> iterator = this.cache.keySet().iterator();
+            while (iterator.hasNext()) {
+                Path path = toAbsolute(iterator.next());
+                if (absolutePaths.stream().anyMatch(path::startsWith)) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private static Path toAbsolute(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    @Nullable
+    private JavaSource<?> getIfPresent(Path path) {
+        synchronized (this.cache) {
+            CachedSource reference = this.cache.get(path);
+            if (reference == null) {
+                return null;
+            }
+            JavaSource<?> javaSource = reference.get();
+            if (javaSource == null) {
+                this.cache.remove(path); // reclaimed by GC
+            }
+            return javaSource;
+        }
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Time spent parsing java files on cache misses, summed across threads.
+     * @return parse time in nanoseconds
+     */
+    public long getParseNanos() {
+        return this.parseNanos.get();
+    }
+
+    private static final class CachedSource extends SoftReference<JavaSource<?>> {
+
+        private final long size;
+
+        private final FileTime lastModified;
+
+        private CachedSource(JavaSource<?> javaSource, BasicFileAttributes attributes) {
+            super(javaSource);
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+        }
+
+        private boolean isModified(Path path) {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            }
+            catch (IOException ex) {
+                return true; // deleted
+            }
+            return attributes.size() != this.size || !attributes.lastModifiedTime().equals(this.lastModified);
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Cheap check on the raw content of a java file, applied before the file is parsed.
+ * <p>
+ * A pre-filter may accept files that the {@link JavaSourceVisitor} ends up ignoring, but
+ * it must never reject a file the visitor is interested in.
+ *
+ * @see JavaSourceVisitor#preFilter()
+ */
+@FunctionalInterface
+public interface JavaSourcePreFilter {
+
+    /**
+     * Pre-filter that accepts every file.
+     */
+    JavaSourcePreFilter ACCEPT_ALL = content -> true;
+
+    /**
+     * Test the raw content of a java file.
+     * @param content file content between position and limit. Implementations must not
+     * modify the buffer position or limit.
+     * @return {@code false} if the file can be skipped
+     */
+    boolean test(ByteBuffer content);
+
+    /**
+     * Pre-filter accepting files that contain the {@code enum} keyword and the simple
+     * name of any of the given interfaces.
+     * @param interfaces interfaces the enum may implement
+     * @return pre-filter
+     */
+    static JavaSourcePreFilter enumImplementingAny(Collection<Class<?>> interfaces) {
+        return new KeywordPreFilter("enum", interfaces.stream().map(Class::getSimpleName).collect(Collectors.toList()));
+    }
+
+    /**
+     * Pre-filter accepting files that contain any of the given keywords.
+     * @param keywords ASCII keywords
+     * @return pre-filter
+     */
+    static JavaSourcePreFilter containingAny(String... keywords) {
+        return new KeywordPreFilter(Arrays.asList(keywords));
+    }
+
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.docs.commons.ExtractedEntryCache.CachedResult;
+import io.micrometer.docs.commons.Profiler.Counter;
+import io.micrometer.docs.commons.Profiler.Phase;
+import io.micrometer.docs.commons.observation.DocsGeneratorObservationDocumentation;
+import io.micrometer.docs.commons.observation.DocsGeneratorObservationDocumentation.GeneratorKeyNames;
+import io.micrometer.docs.commons.observation.JavaSourceSearchHelperMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import org.jboss.forge.roaster.model.source.JavaSource;
+
+/**
+ * Walks the project tree once, indexes the type declarations of each matching java file
+ * (optionally in parallel) for the {@link JavaSourceSearchHelper} shared by the visitors,
+ * and hands the parsed sources to all registered {@link JavaSourceVisitor visitors}.
+ * Indexing does not parse the files, a file is parsed once when a visitor accepts it or a
+ * class in it is resolved, and only parsed again when it has been evicted from the
+ * {@link JavaSourceCache}. The time spent in each phase and the work done are recorded to
+ * a {@link Profiler}, and the phases can also be observed with an
+ * {@link ObservationRegistry}.
+ */
+public class JavaSourceScanner {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(JavaSourceScanner.class);
+
+    static final String SYMBOL_INDEX_FILE_NAME = "symbol-index.bin";
+
+    static final String ENTRY_CACHE_FILE_NAME = "entry-cache.bin";
+
+    private final JavaSourceSearchHelper searchHelper;
+
+    private final List<Path> paths;
+
+    @Nullable
+    private final ExtractedEntryCache entryCache;
+
+    private final Profiler profiler;
+
+    private final ObservationRegistry observationRegistry;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private long skippedCount;
+
+    private long recordedParseNanos;
+
+    // counts of the parsed java file cache when this scanner was created, since the cache
+    // may be shared with earlier scanners
+    private final long initialHitCount;
+
+    private final long initialMissCount;
+
+    private JavaSourceScanner(JavaSourceSearchHelper searchHelper, List<Path> paths,
+            @Nullable ExtractedEntryCache entryCache, Profiler profiler, ObservationRegistry observationRegistry) {
+        this.searchHelper = searchHelper;
+        this.paths = paths;
+        this.entryCache = entryCache;
+        this.profiler = profiler;
+        this.observationRegistry = observationRegistry;
+        JavaSourceCache javaSourceCache = searchHelper.getJavaSourceCache();
+        this.initialHitCount = javaSourceCache.getHitCount();
+        this.initialMissCount = javaSourceCache.getMissCount();
+        this.recordedParseNanos = javaSourceCache.getParseNanos();
+    }
+
+    public static JavaSourceScanner create(Path projectRoot, Pattern inclusionPattern) {
+        return builder(projectRoot, inclusionPattern).build();
+    }
+
+    /**
+     * Create a {@link Builder} for the java files under the project root.
+     * @param projectRoot project root directory
+     * @param inclusionPattern inclusion pattern for java files
+     * @return builder
+     */
+    public static Builder builder(Path projectRoot, Pattern inclusionPattern) {
+        return new Builder(projectRoot, inclusionPattern);
+    }
+
+    public JavaSourceSearchHelper getSearchHelper() {
+        return this.searchHelper;
+    }
+
+    public Profiler getProfiler() {
+        return this.profiler;
+    }
+
+    /**
+     * Pass each scanned {@link JavaSource} to all given visitors, notify them the scan
+     * has completed, then validate them. Files rejected by the
+     * {@link JavaSourceVisitor#preFilter() pre-filter} of a visitor are not passed to
+     * that visitor, and files rejected by all visitors are not retrieved from the cache.
+     * @param visitors visitors
+     */
+    public void scan(Collection<? extends JavaSourceVisitor> visitors) {
+        scan(new ArrayList<>(visitors),
+                visitors.stream().map(visitor -> visitor.getClass().getName()).collect(Collectors.toList()));
+    }
+
+    /**
+     * Scan with the given visitors, recording their work in the profiler scope of the
+     * same index.
+     * @param visitors visitors
+     * @param scopes profiler scopes of the visitors
+     */
+    private void scan(List<JavaSourceVisitor> visitors, List<String> scopes) {
+        JavaSourceCache javaSourceCache = this.searchHelper.getJavaSourceCache();
+        long skipped;
+        try {
+            skipped = DocsGeneratorObservationDocumentation.RESOLVE.observation(this.observationRegistry)
+                .observe(() -> visitAll(visitors, scopes));
+        }
+        finally {
+            // Also save when a visitor failed: the symbol index has already recorded the
+            // changed files, so the results of the previous run must not be kept, while
+            // the results recorded so far are valid.
+            if (this.entryCache != null) {
+                this.entryCache.save();
+            }
+        }
+        this.skippedCount = skipped;
+        logger.debug("Skipped [" + skipped + "] of [" + this.paths.size() + "] java files by pre-filters");
+        logger.debug("Parsed java file cache: hits={}, misses={}", javaSourceCache.getHitCount(),
+                javaSourceCache.getMissCount());
+        logger.debug("Enum constant entry cache: hits={}, misses={}",
+                this.searchHelper.getEnumConstantEntryCache().getHitCount(),
+                this.searchHelper.getEnumConstantEntryCache().getMissCount());
+        logger.debug("Unresolved class reference cache: hits={}", this.searchHelper.getUnresolvedReferenceHitCount());
+        recordScanCounters();
+        for (JavaSourceVisitor visitor : visitors) {
+            visitor.complete();
+        }
+        validate(visitors, scopes);
+    }
+
+    /**
+     * Pass each java file to the visitors accepting it. Pre-filters are only applied when
+     * none of the visitors accepts all files.
+     * @param visitors visitors
+     * @param scopes profiler scopes of the visitors
+     * @return number of java files skipped by pre-filters
+     */
+    private long visitAll(List<JavaSourceVisitor> visitors, List<String> scopes) {
+        JavaSourceCache javaSourceCache = this.searchHelper.getJavaSourceCache();
+        List<JavaSourcePreFilter> preFilters = visitors.stream()
+            .map(JavaSourceVisitor::preFilter)
+            .collect(Collectors.toList());
+        // every file gets parsed when a visitor accepts all, so reading the raw content
+        // for the other pre-filters only adds I/O
+        boolean acceptAll = preFilters.stream().anyMatch(JavaSourcePreFilter.ACCEPT_ALL::equals);
+
+        long skipped = 0;
+        // indexes of the visitors accepting the current file
+        List<Integer> accepted = new ArrayList<>(visitors.size());
+        for (Path path : this.paths) {
+            accepted.clear();
+            ByteBuffer content = acceptAll ? null : read(path);
+            for (int i = 0; i < visitors.size(); i++) {
+                if (content == null || preFilters.get(i).test(content)) {
+                    accepted.add(i);
+                }
+            }
+            if (accepted.isEmpty()) {
+                skipped++;
+                continue;
+            }
+            if (this.entryCache != null) {
+                accepted.removeIf(i -> acceptCachedResult(visitors.get(i), path));
+                if (accepted.isEmpty()) {
+                    continue;
+                }
+            }
+            JavaSource<?> javaSource = javaSourceCache.get(path);
+            for (int i : accepted) {
+                long start = System.nanoTime();
+                visit(visitors.get(i), path, javaSource);
+                this.profiler.record(scopes.get(i), Phase.EXTRACT, System.nanoTime() - start);
+                this.profiler.increment(scopes.get(i), Counter.FILES_VISITED, 1);
+            }
+        }
+        return skipped;
+    }
+
+    private void recordScanCounters() {
+        JavaSourceCache javaSourceCache = this.searchHelper.getJavaSourceCache();
+        long missCount = javaSourceCache.getMissCount() - this.initialMissCount;
+        this.profiler.set(Profiler.SCAN, Counter.FILES_PARSED, missCount);
+        this.profiler.set(Profiler.SCAN, Counter.PARSE_CACHE_HITS,
+                javaSourceCache.getHitCount() - this.initialHitCount);
+        this.profiler.set(Profiler.SCAN, Counter.PARSE_CACHE_MISSES, missCount);
+        this.profiler.set(Profiler.SCAN, Counter.RESOLUTION_LOOKUPS, this.searchHelper.getReferenceLookupCount());
+        this.profiler.set(Profiler.SCAN, Counter.RESOLUTION_MISSES, this.searchHelper.getUnresolvedReferenceCount());
+        // only add the parse time since the last scan
+        long parseNanos = javaSourceCache.getParseNanos();
+        this.profiler.record(Profiler.SCAN, Phase.PARSE, parseNanos - this.recordedParseNanos);
+        this.recordedParseNanos = parseNanos;
+    }
+
+    private boolean acceptCachedResult(JavaSourceVisitor visitor, Path path) {
+        if (!(visitor instanceof IncrementalJavaSourceVisitor)) {
+            return false;
+        }
+        return acceptCachedResult((IncrementalJavaSourceVisitor<?>) visitor, path);
+    }
+
+    private <T> boolean acceptCachedResult(IncrementalJavaSourceVisitor<T> visitor, Path path) {
+        CachedResult result = this.entryCache.lookup(visitor.getCacheName(), path);
+        if (result == null) {
+            return false;
+        }
+        if (result.extracted != null) {
+            T extracted;
+            try {
+                extracted = visitor.read(new DataInputStream(new ByteArrayInputStream(result.extracted)));
+            }
+            catch (IOException ex) {
+                logger.debug("Ignoring unreadable cached entries of [" + path + "]: " + ex.getMessage());
+                return false;
+            }
+            visitor.accept(extracted);
+        }
+        return true;
+    }
+
+    private void visit(JavaSourceVisitor visitor, Path path, JavaSource<?> javaSource) {
+        if (this.entryCache == null || !(visitor instanceof IncrementalJavaSourceVisitor)) {
+            visitor.visit(javaSource);
+            return;
+        }
+        visitAndRecord((IncrementalJavaSourceVisitor<?>) visitor, path, javaSource);
+    }
+
+    private <T> void visitAndRecord(IncrementalJavaSourceVisitor<T> visitor, Path path, JavaSource<?> javaSource) {
+        T extracted;
+        Set<Path> dependencies;
+        this.searchHelper.startRecordingDependencies();
+        try {
+            extracted = visitor.extract(javaSource);
+        }
+        finally {
+            dependencies = this.searchHelper.stopRecordingDependencies();
+        }
+        byte[] encoded = null;
+        if (extracted != null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                visitor.write(extracted, new DataOutputStream(bytes));
+            }
+            catch (IOException ex) {
+                throw new RuntimeException("Failed to encode the entries extracted from " + path, ex);
+            }
+            encoded = bytes.toByteArray();
+        }
+        this.entryCache.record(visitor.getCacheName(), path, encoded, dependencies);
+        if (extracted != null) {
+            visitor.accept(extracted);
+        }
+    }
+
+    /**
+     * Run the validation of all visitors in parallel and fail with a report aggregated
+     * across them.
+     * @param visitors visitors
+     * @param scopes profiler scopes of the visitors
+     */
+    private void validate(List<JavaSourceVisitor> visitors, List<String> scopes) {
+        List<String> reports = IntStream.range(0, visitors.size())
+            .parallel()
+            .mapToObj(i -> DocsGeneratorObservationDocumentation.VALIDATE.observation(this.observationRegistry)
+                .lowCardinalityKeyValue(GeneratorKeyNames.GENERATOR.withValue(scopes.get(i)))
+                .observe(() -> this.profiler.time(scopes.get(i), Phase.VALIDATE, visitors.get(i)::validate)))
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+        if (!reports.isEmpty()) {
+            throw new IllegalStateException(String.join(System.lineSeparator(), reports));
+        }
+    }
+
+    /**
+     * Read the file content into the reusable direct buffer.
+     * @param path java file
+     * @return buffer holding the file content between position and limit
+     */
+    private ByteBuffer read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > this.buffer.capacity()) {
+                this.buffer = ByteBuffer.allocateDirect(Math.toIntExact(size));
+            }
+            this.buffer.clear();
+            while (this.buffer.position() < size && channel.read(this.buffer) >= 0) {
+                // keep reading until the whole file is in the buffer
+            }
+            this.buffer.flip();
+            return this.buffer;
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to read " + path, ex);
+        }
+    }
+
+    /**
+     * Number of java files skipped by pre-filters in the last {@link #scan(Collection)}.
+     * @return skipped file count
+     */
+    public long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    /**
+     * Collect entries for all given generators in a single scan, then render them.
+     * @param generators documentation generators
+     */
+    public void generate(Collection<? extends DocGenerator> generators) {
+        List<JavaSourceVisitor> visitors = generators.stream()
+            .map(generator -> generator.createVisitor(this.searchHelper))
+            .collect(Collectors.toList());
+        List<String> scopes = generators.stream()
+            .map(generator -> generator.getClass().getSimpleName())
+            .collect(Collectors.toList());
+        scan(visitors, scopes);
+        int i = 0;
+        for (DocGenerator generator : generators) {
+            render(generator, scopes.get(i++));
+        }
+    }
+
+    private void render(DocGenerator generator, String scope) {
+        // the document writer records the write phase in the current scope
+        this.profiler.setCurrentScope(scope);
+        long writeNanos = this.profiler.getNanos(scope, Phase.WRITE);
+        long start = System.nanoTime();
+        try {
+            DocsGeneratorObservationDocumentation.RENDER.observation(this.observationRegistry)
+                .lowCardinalityKeyValue(GeneratorKeyNames.GENERATOR.withValue(scope))
+                .observe(generator::render);
+        }
+        finally {
+            long elapsed = System.nanoTime() - start;
+            this.profiler.record(scope, Phase.RENDER,
+                    elapsed - (this.profiler.getNanos(scope, Phase.WRITE) - writeNanos));
+            this.profiler.setCurrentScope(Profiler.SCAN);
+        }
+    }
+
+    /**
+     * Builder for {@link JavaSourceScanner}.
+     */
+    public static class Builder {
+
+        private final Path projectRoot;
+
+        private final Pattern inclusionPattern;
+
+        private List<Pattern> exclusionPatterns = Collections.emptyList();
+
+        private int parallelism = 1;
+
+        @Nullable
+        private Path cacheDirectory;
+
+        @Nullable
+        private JavaSourceCache javaSourceCache;
+
+        private Collection<Path> modifiedPaths = Collections.emptyList();
+
+        private Profiler profiler = new Profiler();
+
+        private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+        @Nullable
+        private MeterRegistry meterRegistry;
+
+        private Builder(Path projectRoot, Pattern inclusionPattern) {
+            this.projectRoot = projectRoot;
+            this.inclusionPattern = inclusionPattern;
+        }
+
+        /**
+         * Exclusion patterns for directories and java files.
+         * @param exclusionPatterns exclusion patterns
+         * @return this builder
+         */
+        public Builder exclusionPatterns(List<Pattern> exclusionPatterns) {
+            this.exclusionPatterns = exclusionPatterns;
+            return this;
+        }
+
+        /**
+         * Number of threads used to index java files.
+         * @param parallelism parallelism
+         * @return this builder
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Directory to persist the class index and the extracted entries to, so that
+         * later runs only parse and visit the java files that have changed.
+         * @param cacheDirectory cache directory, or {@code null} to always parse and
+         * visit all java files
+         * @return this builder
+         */
+        public Builder cacheDirectory(@Nullable Path cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+            return this;
+        }
+
+        /**
+         * Cache of parsed java files to use instead of a new one, e.g. to keep the parsed
+         * files between scans of a long-running process. The files modified since they
+         * were parsed are evicted from the cache when the scanner is built.
+         * @param javaSourceCache parsed java file cache, or {@code null} to use a new one
+         * @return this builder
+         */
+        public Builder javaSourceCache(@Nullable JavaSourceCache javaSourceCache) {
+            this.javaSourceCache = javaSourceCache;
+            return this;
+        }
+
+        /**
+         * Files and directories known to have changed since the previous scan, e.g.
+         * reported by a {@link JavaSourceWatcher}. Their java files are parsed and
+         * indexed again even when their size and last modified time did not change.
+         * @param modifiedPaths modified java files or directories
+         * @return this builder
+         */
+        public Builder modifiedPaths(Collection<Path> modifiedPaths) {
+            this.modifiedPaths = modifiedPaths;
+            return this;
+        }
+
+        /**
+         * Profiler to record the time spent in each phase and the work done to.
+         * @param profiler profiler
+         * @return this builder
+         */
+        public Builder profiler(Profiler profiler) {
+            this.profiler = profiler;
+            return this;
+        }
+
+        /**
+         * Registry to observe the scan, resolve, validate and render phases with. See
+         * {@link DocsGeneratorObservationDocumentation}.
+         * @param observationRegistry observation registry
+         * @return this builder
+         */
+        public Builder observationRegistry(ObservationRegistry observationRegistry) {
+            this.observationRegistry = observationRegistry;
+            return this;
+        }
+
+        /**
+         * Registry to count the parse and lookup operations in. See
+         * {@link JavaSourceSearchHelperMetrics}.
+         * @param meterRegistry meter registry, or {@code null} to not count them
+         * @return this builder
+         */
+        public Builder meterRegistry(@Nullable MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public JavaSourceScanner build() {
+            JavaSourceScanner scanner = DocsGeneratorObservationDocumentation.SCAN.observation(this.observationRegistry)
+                .observe(this::createScanner);
+            if (this.meterRegistry != null) {
+                new JavaSourceSearchHelperMetrics(scanner.searchHelper).bindTo(this.meterRegistry);
+            }
+            return scanner;
+        }
+
+        private JavaSourceScanner createScanner() {
+            logger.debug("Path is [" + this.projectRoot.toAbsolutePath() + "]. Inclusion pattern is ["
+                    + this.inclusionPattern + "]. Exclusion patterns are " + this.exclusionPatterns
+                    + ". Parallelism is [" + this.parallelism + "]");
+            List<Path> paths = this.profiler.time(Profiler.SCAN, Phase.WALK, () -> JavaSourceSearchHelper
+                .collectPaths(this.projectRoot, this.inclusionPattern, this.exclusionPatterns));
+            this.profiler.increment(Profiler.SCAN, Counter.FILES_VISITED, paths.size());
+            SymbolIndexFile symbolIndex = null;
+            if (this.cacheDirectory != null) {
+                symbolIndex = SymbolIndexFile.load(this.projectRoot,
+                        this.cacheDirectory.resolve(SYMBOL_INDEX_FILE_NAME));
+                symbolIndex.setModifiedPaths(this.modifiedPaths);
+            }
+            SymbolIndexFile symbolIndexFile = symbolIndex;
+            ClassNameIndex classNameIndex = this.profiler.time(Profiler.SCAN, Phase.INDEX,
+                    () -> JavaSourceSearchHelper.index(paths, this.parallelism, symbolIndexFile));
+            ExtractedEntryCache entryCache = null;
+            if (symbolIndex != null) {
+                symbolIndex.save();
+                entryCache = ExtractedEntryCache.load(this.projectRoot,
+                        this.cacheDirectory.resolve(ENTRY_CACHE_FILE_NAME), symbolIndex);
+            }
+            logger.debug("Indexed [" + paths.size() + "] java files");
+            JavaSourceCache javaSourceCache = this.javaSourceCache;
+            if (javaSourceCache == null) {
+                javaSourceCache = new JavaSourceCache();
+            }
+            else {
+                int evicted = javaSourceCache.evict(this.modifiedPaths) + javaSourceCache.evictModified();
+                logger.debug("Evicted [" + evicted + "] modified java files from the parsed java file cache");
+            }
+            JavaSourceSearchHelper searchHelper = JavaSourceSearchHelper.create(classNameIndex, javaSourceCache);
+            return new JavaSourceScanner(searchHelper, paths, entryCache, this.profiler, this.observationRegistry);
+        }
+
+    }
+
+}
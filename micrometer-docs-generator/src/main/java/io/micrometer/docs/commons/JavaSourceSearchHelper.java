@@ -23,14 +23,22 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
@@ -38,7 +46,6 @@ import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.docs.commons.utils.Assert;
 import io.micrometer.observation.GlobalObservationConvention;
 import io.micrometer.observation.ObservationConvention;
-import org.jboss.forge.roaster.Roaster;
 import org.jboss.forge.roaster._shade.org.eclipse.jdt.core.dom.Expression;
 import org.jboss.forge.roaster._shade.org.eclipse.jdt.core.dom.QualifiedName;
 import org.jboss.forge.roaster._shade.org.eclipse.jdt.core.dom.SimpleName;
@@ -75,62 +82,194 @@ public class JavaSourceSearchHelper {
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(JavaSourceSearchHelper.class);
 
     /**
-     * This map holds keys with enclosing classes and their nested classes using qualified
-     * name. <pre>
+     * Index of the classes and their nested classes declared in the java files. The
+     * classes are looked up by qualified name, by canonical name for resolving import
+     * statement referenced classes since they use canonical names, and by package for
+     * resolving classes from wildcard imports and from the same package. <pre>
      * Example:
-     *    key: io.micrometer.Foo  (enclosing class in "io/micrometer/Foo.java" file)
-     *    key: io.micrometer.Foo$Bar (nested class in "io/micrometer/Foo.java" file)
-     * </pre>
+     *    io.micrometer.Foo  (enclosing class in "io/micrometer/Foo.java" file)
+     *    io.micrometer.Foo$Bar (nested class in "io/micrometer/Foo.java" file)
+     * </pre> Note: in rare case, different qualified names can be the same canonical
+     * name. (ref <a href=
+     * "https://docs.oracle.com/javase/specs/jls/se11/html/jls-6.html#jls-6.7">Java
+     * Spec</a>)
      */
-    private final Map<String, JavaSourcePathInfo> pathInfoMap;
+    private final ClassNameIndex classNameIndex;
 
     /**
-     * Canonical class name to qualified class names. (note: in rare case, different
-     * qualified name can be same canonical name. (ref <a href=
-     * "https://docs.oracle.com/javase/specs/jls/se11/html/jls-6.html#jls-6.7">Java
-     * Spec</a>) This map is useful for resolving import statement referenced classes
-     * since they use canonical names.
+     * Parsed java files. Resolving a class name parses its file on a cache miss.
+     */
+    private final JavaSourceCache javaSourceCache;
+
+    /**
+     * Models read from enum constants, shared by the visitors.
+     */
+    private final EnumConstantEntryCache enumConstantEntryCache = new EnumConstantEntryCache();
+
+    /**
+     * Type hierarchy graph keyed by qualified name.
+     */
+    private final Map<String, Memoized<TypeNode>> typeHierarchy = new ConcurrentHashMap<>();
+
+    /**
+     * Qualified name of the class declaring a method, keyed by "qualified-name#method".
+     */
+    private final Map<String, Memoized<String>> methodDeclaringTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Implemented observation convention interface name keyed by qualified name.
+     */
+    private final Map<String, Memoized<String>> conventionInterfaceNames = new ConcurrentHashMap<>();
+
+    /**
+     * Negative cache of class references that could not be resolved, e.g. references to
+     * JDK or library classes. Keyed by "enclosing-qualified-name#class-name".
+     */
+    private final Set<String> unresolvedReferences = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong unresolvedReferenceHitCount = new AtomicLong();
+
+    private final AtomicLong referenceLookupCount = new AtomicLong();
+
+    private final AtomicLong unresolvedReferenceCount = new AtomicLong();
+
+    /**
+     * Files of the resolved classes, recorded for the extracted entry cache.
      */
-    private final Map<String, Set<String>> qualifiedClassNames = new HashMap<>();
+    private final ThreadLocal<Set<Path>> recordedDependencies = new ThreadLocal<>();
 
     public static JavaSourceSearchHelper create(Path projectRoot, Pattern inclusionPattern) {
-        PathCollectingFileVisitor visitor = new PathCollectingFileVisitor(inclusionPattern);
+        return create(projectRoot, inclusionPattern, Collections.emptyList(), 1);
+    }
+
+    /**
+     * Create a {@link JavaSourceSearchHelper} for the java files under the project root.
+     * @param projectRoot project root directory
+     * @param inclusionPattern inclusion pattern for java files
+     * @param exclusionPatterns exclusion patterns for directories and java files
+     * @param parallelism number of threads used to parse java files
+     * @return created search helper
+     */
+    public static JavaSourceSearchHelper create(Path projectRoot, Pattern inclusionPattern,
+            List<Pattern> exclusionPatterns, int parallelism) {
+        List<Path> paths = collectPaths(projectRoot, inclusionPattern, exclusionPatterns);
+        long before = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        ClassNameIndex classNameIndex = index(paths, parallelism);
+        long after = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        logger.debug("Memory usage: before{}, after={}, diff={}", before, after, after - before);
+
+        return create(classNameIndex);
+    }
+
+    static List<Path> collectPaths(Path projectRoot, Pattern inclusionPattern, List<Pattern> exclusionPatterns) {
+        PathCollectingFileVisitor visitor = new PathCollectingFileVisitor(inclusionPattern, exclusionPatterns);
         try {
-            long before = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
             Files.walkFileTree(projectRoot, visitor);
-            long after = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-            logger.debug("Memory usage: before{}, after={}, diff={}", before, after, after - before);
         }
         catch (IOException ex) {
-            throw new RuntimeException("Failed to parse java files.", ex);
+            throw new RuntimeException("Failed to collect java files.", ex);
         }
-        return create(visitor.getMap());
+        logger.debug("Collected [" + visitor.getPaths().size() + "] java files, skipped ["
+                + visitor.getSkippedDirectoryCount() + "] directories");
+        return visitor.getPaths();
     }
 
-    static JavaSourceSearchHelper create(Map<String, JavaSourcePathInfo> map) {
-        return new JavaSourceSearchHelper(map);
+    /**
+     * Index the classes of the given java files by qualified name.
+     * @param paths java files to index
+     * @param parallelism number of threads used to read java files. {@code 1} or less
+     * reads on the calling thread.
+     * @return class name index
+     */
+    static ClassNameIndex index(List<Path> paths, int parallelism) {
+        return index(paths, parallelism, null);
     }
 
-    private JavaSourceSearchHelper(Map<String, JavaSourcePathInfo> pathInfoMap) {
-        this.pathInfoMap = pathInfoMap;
+    /**
+     * Index the classes of the given java files by qualified name. Only the files that
+     * have changed since they were recorded in the given symbol index are read, and they
+     * are recorded in the symbol index. The files are not parsed into {@link JavaSource}
+     * here, {@link JavaDeclarationIndexer} only reads their type declarations.
+     * @param paths java files to index
+     * @param parallelism number of threads used to read java files. {@code 1} or less
+     * reads on the calling thread.
+     * @param symbolIndexFile symbol index persisted by a previous run
+     * @return class name index
+     */
+    static ClassNameIndex index(List<Path> paths, int parallelism, @Nullable SymbolIndexFile symbolIndexFile) {
+        Map<Path, List<JavaSourcePathInfo>> indexed = new HashMap<>();
+        List<Path> toParse = paths;
+        if (symbolIndexFile != null) {
+            toParse = new ArrayList<>();
+            for (Path path : paths) {
+                List<JavaSourcePathInfo> pathInfos = symbolIndexFile.lookup(path);
+                if (pathInfos != null) {
+                    indexed.put(path, pathInfos);
+                }
+                else {
+                    toParse.add(path);
+                }
+            }
+        }
+
+        Function<Path, List<JavaSourcePathInfo>> indexer = (path) -> {
+            List<JavaSourcePathInfo> pathInfos = JavaDeclarationIndexer.index(path);
+            if (symbolIndexFile != null) {
+                symbolIndexFile.record(path, pathInfos);
+            }
+            return pathInfos;
+        };
+        List<List<JavaSourcePathInfo>> results = parse(toParse, parallelism, indexer);
+        for (int i = 0; i < toParse.size(); i++) {
+            indexed.put(toParse.get(i), results.get(i));
+        }
 
-        // compose canonical name to qualified name map
-        for (Entry<String, JavaSourcePathInfo> entry : pathInfoMap.entrySet()) {
-            String qualifiedName = entry.getKey();
-            String canonicalName = entry.getValue().canonicalName;
+        // merge in the order of the paths to keep the result deterministic
+        ClassNameIndex.Builder builder = ClassNameIndex.builder();
+        for (Path path : paths) {
+            for (JavaSourcePathInfo pathInfo : indexed.remove(path)) {
+                builder.add(pathInfo);
+            }
+        }
+        return builder.build();
+    }
 
-            this.qualifiedClassNames.compute(canonicalName, (key, set) -> {
-                if (set == null) {
-                    return Collections.singleton(qualifiedName);
-                }
-                // rare case, one canonical name has multiple qualified names
-                Set<String> newSet = new HashSet<>(set);
-                newSet.add(qualifiedName);
-                return newSet;
-            });
+    private static <T> List<T> parse(List<Path> paths, int parallelism, Function<Path, T> parser) {
+        if (parallelism <= 1) {
+            return paths.stream().map(parser).collect(Collectors.toList());
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> paths.parallelStream().map(parser).collect(Collectors.toList())).get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing java files.", ex);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new RuntimeException("Failed to parse java files.", ex.getCause());
+        }
+        finally {
+            pool.shutdown();
         }
     }
 
+    static JavaSourceSearchHelper create(ClassNameIndex classNameIndex) {
+        return create(classNameIndex, new JavaSourceCache());
+    }
+
+    static JavaSourceSearchHelper create(ClassNameIndex classNameIndex, JavaSourceCache javaSourceCache) {
+        return new JavaSourceSearchHelper(classNameIndex, javaSourceCache);
+    }
+
+    private JavaSourceSearchHelper(ClassNameIndex classNameIndex, JavaSourceCache javaSourceCache) {
+        this.classNameIndex = classNameIndex;
+        this.javaSourceCache = javaSourceCache;
+    }
+
     /**
      * Search a {@link JavaSource} by qualified class name.
      * @param qualifiedName a qualified class name
@@ -144,11 +283,91 @@ public class JavaSourceSearchHelper {
             resolvedName = qualifiedName.substring(0, qualifiedName.indexOf("<"));
         }
 
-        JavaSourcePathInfo info = this.pathInfoMap.get(resolvedName);
-        if (info == null) {
+        Path path = this.classNameIndex.getPath(resolvedName);
+        if (path == null) {
             return null;
         }
-        return info.getJavaSource();
+        Set<Path> dependencies = this.recordedDependencies.get();
+        if (dependencies != null) {
+            dependencies.add(path);
+        }
+        return getJavaSource(path, resolvedName);
+    }
+
+    private JavaSource<?> getJavaSource(Path path, String qualifiedName) {
+        JavaSource<?> javaSource = this.javaSourceCache.get(path);
+        JavaSource<?> result = findJavaSource(javaSource, qualifiedName);
+        if (result == null) {
+            throw new RuntimeException(String.format("Could not find %s in %s", qualifiedName, path));
+        }
+        return result;
+    }
+
+    @Nullable
+    private static JavaSource<?> findJavaSource(JavaSource<?> javaSource, String qualifiedName) {
+        if (javaSource.getQualifiedName().equals(qualifiedName)) {
+            return javaSource;
+        }
+        if (javaSource instanceof TypeHolderSource) {
+            for (JavaSource<?> nested : ((TypeHolderSource<?>) javaSource).getNestedTypes()) {
+                JavaSource<?> result = findJavaSource(nested, qualifiedName);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Start recording the files of the classes resolved on the current thread.
+     */
+    void startRecordingDependencies() {
+        this.recordedDependencies.set(new HashSet<>());
+    }
+
+    /**
+     * Stop recording the resolved files.
+     * @return files of the classes resolved since {@link #startRecordingDependencies()}
+     */
+    Set<Path> stopRecordingDependencies() {
+        Set<Path> dependencies = this.recordedDependencies.get();
+        this.recordedDependencies.remove();
+        return dependencies != null ? dependencies : Collections.emptySet();
+    }
+
+    public JavaSourceCache getJavaSourceCache() {
+        return this.javaSourceCache;
+    }
+
+    public EnumConstantEntryCache getEnumConstantEntryCache() {
+        return this.enumConstantEntryCache;
+    }
+
+    /**
+     * Number of {@link #searchReferencingClass(JavaSource, String)} calls answered by the
+     * negative cache.
+     * @return negative cache hit count
+     */
+    public long getUnresolvedReferenceHitCount() {
+        return this.unresolvedReferenceHitCount.get();
+    }
+
+    /**
+     * Number of {@link #searchReferencingClass(JavaSource, String)} calls.
+     * @return lookup count
+     */
+    public long getReferenceLookupCount() {
+        return this.referenceLookupCount.get();
+    }
+
+    /**
+     * Number of {@link #searchReferencingClass(JavaSource, String)} calls that did not
+     * find the class in the project, including the ones answered by the negative cache.
+     * @return unresolved lookup count
+     */
+    public long getUnresolvedReferenceCount() {
+        return this.unresolvedReferenceCount.get();
     }
 
     /**
@@ -159,6 +378,36 @@ public class JavaSourceSearchHelper {
      */
     @Nullable
     public JavaSource<?> searchReferencingClass(JavaSource<?> enclosingJavaSource, String className) {
+        this.referenceLookupCount.incrementAndGet();
+        JavaSource<?> javaSource = resolveReferencingClass(enclosingJavaSource, className);
+        if (javaSource == null) {
+            this.unresolvedReferenceCount.incrementAndGet();
+        }
+        return javaSource;
+    }
+
+    @Nullable
+    private JavaSource<?> resolveReferencingClass(JavaSource<?> enclosingJavaSource, String className) {
+        if (!isMemoizable(enclosingJavaSource)) {
+            return findReferencingClass(enclosingJavaSource, className);
+        }
+        // The resolution depends on the nested classes of the enclosing class and the
+        // imports and package of its compilation unit, so the qualified name of the
+        // enclosing class identifies the lookup.
+        String key = enclosingJavaSource.getQualifiedName() + "#" + className;
+        if (this.unresolvedReferences.contains(key)) {
+            this.unresolvedReferenceHitCount.incrementAndGet();
+            return null;
+        }
+        JavaSource<?> javaSource = findReferencingClass(enclosingJavaSource, className);
+        if (javaSource == null) {
+            this.unresolvedReferences.add(key);
+        }
+        return javaSource;
+    }
+
+    @Nullable
+    private JavaSource<?> findReferencingClass(JavaSource<?> enclosingJavaSource, String className) {
         // the given classname could be:
         // - qualified name: "io.micrometer.Foo$Bar$Baz"
         // - canonical name: "io.micrometer.Foo.Bar.Baz"
@@ -194,7 +443,7 @@ public class JavaSourceSearchHelper {
                 }
 
                 // recursively check nested class
-                JavaSource<?> source = searchReferencingClass(nestedType, className);
+                JavaSource<?> source = resolveReferencingClass(nestedType, className);
                 if (source != null) {
                     return source;
                 }
@@ -238,24 +487,12 @@ public class JavaSourceSearchHelper {
         }
 
         // TODO: currently only considering className as simple classname
-        // TODO: inefficient algorithm for now.
-        for (String qualifiedName : this.pathInfoMap.keySet()) {
-            if (!qualifiedName.contains(".")) {
-                continue; // exclude top level classes
-            }
-            // when target is a nested class, only look for the nested class entries
-            if (className.contains("$") && !qualifiedName.contains("$")) {
-                continue;
-            }
-
-            int index = qualifiedName.lastIndexOf(".");
-            String entryPackage = qualifiedName.substring(0, index);
-            String entryClassName = qualifiedName.substring(index + 1);
-            if (packageName.equals(entryPackage) && entryClassName.equals(className)) {
-                return search(qualifiedName);
-            }
+        // (e.g. "Foo") or nested class name within the package (e.g. "Foo$Bar")
+        String qualifiedName = this.classNameIndex.getQualifiedName(packageName, className);
+        if (qualifiedName == null) {
+            return null;
         }
-        return null;
+        return search(qualifiedName);
     }
 
     /**
@@ -325,10 +562,7 @@ public class JavaSourceSearchHelper {
 
     @Nullable
     private JavaSource<?> searchByCanonicalName(String canonicalName) {
-        Set<String> qualifiedNames = this.qualifiedClassNames.get(canonicalName);
-        if (qualifiedNames == null) {
-            return null;
-        }
+        List<String> qualifiedNames = this.classNameIndex.getQualifiedNames(canonicalName);
         // TODO: add warning when multiple qualified names found
         for (String qualifiedName : qualifiedNames) {
             JavaSource<?> javaSource = search(qualifiedName);
@@ -350,40 +584,147 @@ public class JavaSourceSearchHelper {
     @Nullable
     public MethodSource<?> searchMethodSource(JavaSource<?> javaSource, String methodName) {
         // discovery - DFS to look for itself, parent and interfaces classes
+        Assert.isInstanceOf(MethodHolderSource.class, javaSource);
+        JavaSource<?> declaringSource = searchMethodDeclaringSource(javaSource, methodName);
+        if (declaringSource == null) {
+            return null;
+        }
+        return ((MethodHolderSource<?>) declaringSource).getMethod(methodName);
+    }
+
+    @Nullable
+    private JavaSource<?> searchMethodDeclaringSource(JavaSource<?> javaSource, String methodName) {
+        if (!isMemoizable(javaSource)) {
+            return findMethodDeclaringSource(javaSource, methodName);
+        }
+        String qualifiedName = javaSource.getQualifiedName();
+        String declaringName = memoize(this.methodDeclaringTypes, qualifiedName + "#" + methodName, () -> {
+            JavaSource<?> declaringSource = findMethodDeclaringSource(javaSource, methodName);
+            return declaringSource != null ? declaringSource.getQualifiedName() : null;
+        }, (value) -> true);
+        if (declaringName == null) {
+            return null;
+        }
+        if (declaringName.equals(qualifiedName)) {
+            return javaSource;
+        }
+        return search(declaringName);
+    }
 
+    @Nullable
+    private JavaSource<?> findMethodDeclaringSource(JavaSource<?> javaSource, String methodName) {
         Assert.isInstanceOf(MethodHolderSource.class, javaSource);
-        MethodSource<?> methodSource = ((MethodHolderSource<?>) javaSource).getMethod(methodName);
-        if (methodSource != null) {
-            return methodSource;
+        if (((MethodHolderSource<?>) javaSource).getMethod(methodName) != null) {
+            return javaSource;
+        }
+
+        // search for parent, then interfaces
+        ResolvedType resolvedType = resolveType(javaSource);
+        if (resolvedType.superSource != null) {
+            JavaSource<?> declaringSource = searchMethodDeclaringSource(resolvedType.superSource, methodName);
+            if (declaringSource != null) {
+                return declaringSource;
+            }
         }
+        for (JavaSource<?> interfaceSource : resolvedType.interfaceSources) {
+            if (interfaceSource != null) {
+                JavaSource<?> declaringSource = searchMethodDeclaringSource(interfaceSource, methodName);
+                if (declaringSource != null) {
+                    return declaringSource;
+                }
+            }
+        }
+        return null;
+    }
 
+    /**
+     * Resolve the parent class and interfaces of the given {@link JavaSource}. For
+     * indexed classes, the resolved names are memoized in the type hierarchy graph.
+     * @param javaSource java source
+     * @return resolved parent class and interfaces
+     */
+    private ResolvedType resolveType(JavaSource<?> javaSource) {
+        if (!isMemoizable(javaSource)) {
+            return resolveTypeSources(javaSource);
+        }
+        TypeNode typeNode = memoize(this.typeHierarchy, javaSource.getQualifiedName(),
+                () -> new TypeNode(resolveTypeSources(javaSource)), (value) -> true);
+        JavaSource<?> superSource = typeNode.superTypeName != null ? search(typeNode.superTypeName) : null;
+        List<JavaSource<?>> interfaceSources = new ArrayList<>(typeNode.resolvedInterfaceNames.size());
+        for (String resolvedName : typeNode.resolvedInterfaceNames) {
+            interfaceSources.add(resolvedName != null ? search(resolvedName) : null);
+        }
+        return new ResolvedType(superSource, typeNode.interfaceNames, interfaceSources);
+    }
+
+    private ResolvedType resolveTypeSources(JavaSource<?> javaSource) {
+        JavaSource<?> superSource = null;
         if (javaSource instanceof Extendable) {
             String parentClassName = ((Extendable<?>) javaSource).getSuperType();
             if (!Object.class.getName().equals(parentClassName)) {
-                JavaSource<?> parentSource = searchJavaSourceByRoasterTypeName(javaSource, parentClassName);
-                if (parentSource != null) {
-                    methodSource = searchMethodSource(parentSource, methodName);
-                }
-                if (methodSource != null) {
-                    return methodSource;
-                }
+                superSource = searchJavaSourceByRoasterTypeName(javaSource, parentClassName);
             }
         }
-
-        // search for interfaces
+        List<String> interfaceNames = Collections.emptyList();
+        List<JavaSource<?>> interfaceSources = new ArrayList<>();
         if (javaSource instanceof InterfaceCapable) {
-            List<String> interfaces = ((InterfaceCapable) javaSource).getInterfaces();
-            for (String interfaceName : interfaces) {
-                JavaSource<?> interfaceSource = searchJavaSourceByRoasterTypeName(javaSource, interfaceName);
-                if (interfaceSource != null) {
-                    methodSource = searchMethodSource(interfaceSource, methodName);
-                }
-                if (methodSource != null) {
-                    return methodSource;
-                }
+            interfaceNames = ((InterfaceCapable) javaSource).getInterfaces();
+            for (String interfaceName : interfaceNames) {
+                // ObservationConvention is resolved as well, it is indexed when scanning
+                // micrometer itself and may declare the searched method
+                interfaceSources.add(searchJavaSourceByRoasterTypeName(javaSource, interfaceName));
             }
         }
-        return null;
+        return new ResolvedType(superSource, interfaceNames, interfaceSources);
+    }
+
+    private boolean isMemoizable(JavaSource<?> javaSource) {
+        // enum constant bodies share the qualified name of their enum
+        return !(javaSource instanceof EnumConstantSource.Body)
+                && this.classNameIndex.contains(javaSource.getQualifiedName());
+    }
+
+    /**
+     * Retrieve the memoized value, or compute and memoize it. The files resolved while
+     * computing the value are kept with it, and recorded again on each retrieval so that
+     * the extracted entry cache sees the same dependencies.
+     * @param memo memoized values
+     * @param key key
+     * @param supplier computes the value
+     * @param memoizable whether the computed value can be memoized
+     * @param <T> value type
+     * @return value
+     */
+    @Nullable
+    private <T> T memoize(Map<String, Memoized<T>> memo, String key, Supplier<T> supplier, Predicate<T> memoizable) {
+        Memoized<T> memoized = memo.get(key);
+        if (memoized != null) {
+            Set<Path> recorded = this.recordedDependencies.get();
+            if (recorded != null) {
+                recorded.addAll(memoized.dependencies);
+            }
+            return memoized.value;
+        }
+        Set<Path> outer = this.recordedDependencies.get();
+        Set<Path> dependencies = new HashSet<>();
+        this.recordedDependencies.set(dependencies);
+        T value;
+        try {
+            value = supplier.get();
+        }
+        finally {
+            if (outer != null) {
+                outer.addAll(dependencies);
+                this.recordedDependencies.set(outer);
+            }
+            else {
+                this.recordedDependencies.remove();
+            }
+        }
+        if (memoizable.test(value)) {
+            memo.put(key, new Memoized<>(value, dependencies));
+        }
+        return value;
     }
 
     @Nullable
@@ -462,123 +803,256 @@ public class JavaSourceSearchHelper {
      */
     @Nullable
     public String searchObservationConventionInterfaceName(JavaSource<?> javaSource) {
-        return searchObservationConventionInterfaceName(javaSource, new HashSet<>());
+        return searchObservationConventionInterfaceName(javaSource, new ConventionSearchContext());
     }
 
     @Nullable
-    private String searchObservationConventionInterfaceName(JavaSource<?> javaSource, Set<String> visited) {
+    private String searchObservationConventionInterfaceName(JavaSource<?> javaSource, ConventionSearchContext context) {
         String qualifiedName = javaSource.getQualifiedName();
-        logger.trace("Searching ObservationConvention on {} - start", qualifiedName);
-
-        if (visited.contains(qualifiedName)) {
-            return null; // already visited but not found
+        if (context.inProgress.contains(qualifiedName)) {
+            // cyclic reference through nested classes, the result is computed by the
+            // caller
+            context.truncated = true;
+            return null;
+        }
+        if (!isMemoizable(javaSource)) {
+            return findObservationConventionInterfaceName(javaSource, context);
         }
-        visited.add(qualifiedName);
+        // a null result computed on a truncated search depends on the starting point
+        return memoize(this.conventionInterfaceNames, qualifiedName,
+                () -> findObservationConventionInterfaceName(javaSource, context),
+                (value) -> value != null || !context.truncated);
+    }
 
-        // search on interfaces and parent interfaces
-        if (javaSource instanceof InterfaceCapable) {
-            List<String> interfaces = ((InterfaceCapable) javaSource).getInterfaces();
-            for (String interfaceName : interfaces) {
-                if (interfaceName.contains(ObservationConvention.class.getCanonicalName())
-                        || interfaceName.contains(GlobalObservationConvention.class.getCanonicalName())) {
+    @Nullable
+    private String findObservationConventionInterfaceName(JavaSource<?> javaSource, ConventionSearchContext context) {
+        String qualifiedName = javaSource.getQualifiedName();
+        logger.trace("Searching ObservationConvention on {} - start", qualifiedName);
+        context.inProgress.add(qualifiedName);
+        try {
+            ResolvedType resolvedType = resolveType(javaSource);
+
+            // search on interfaces and parent interfaces
+            for (int i = 0; i < resolvedType.interfaceNames.size(); i++) {
+                String interfaceName = resolvedType.interfaceNames.get(i);
+                if (isObservationConvention(interfaceName)) {
                     return interfaceName;
                 }
-
-                JavaSource<?> interfaceSource = searchJavaSourceByRoasterTypeName(javaSource, interfaceName);
+                JavaSource<?> interfaceSource = resolvedType.interfaceSources.get(i);
                 if (interfaceSource != null) {
-                    String result = searchObservationConventionInterfaceName(interfaceSource, visited);
+                    String result = searchObservationConventionInterfaceName(interfaceSource, context);
                     if (result != null) {
                         return result;
                     }
                 }
             }
-        }
-
-        // search on nested classes
-        if (javaSource instanceof TypeHolderSource) {
-            for (JavaSource<?> nested : ((TypeHolderSource<?>) javaSource).getNestedTypes()) {
-                String result = searchObservationConventionInterfaceName(nested, visited);
-                if (result != null) {
-                    return result;
-                }
-            }
-        }
 
-        // search on parent classes
-        if (javaSource instanceof Extendable) {
-            String parentClassName = ((Extendable<?>) javaSource).getSuperType();
-            if (!Object.class.getName().equals(parentClassName)) {
-                JavaSource<?> parentSource = searchJavaSourceByRoasterTypeName(javaSource, parentClassName);
-                if (parentSource != null) {
-                    String result = searchObservationConventionInterfaceName(parentSource, visited);
+            // search on nested classes
+            if (javaSource instanceof TypeHolderSource) {
+                for (JavaSource<?> nested : ((TypeHolderSource<?>) javaSource).getNestedTypes()) {
+                    String result = searchObservationConventionInterfaceName(nested, context);
                     if (result != null) {
                         return result;
                     }
                 }
             }
+
+            // search on parent classes
+            if (resolvedType.superSource != null) {
+                String result = searchObservationConventionInterfaceName(resolvedType.superSource, context);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        finally {
+            context.inProgress.remove(qualifiedName);
         }
 
         logger.trace("Searching ObservationConvention on {} - not found", qualifiedName);
         return null; // not found
     }
 
+    private static boolean isObservationConvention(String interfaceName) {
+        return interfaceName.contains(ObservationConvention.class.getCanonicalName())
+                || interfaceName.contains(GlobalObservationConvention.class.getCanonicalName());
+    }
+
+    /**
+     * Collects java files matching the inclusion pattern. Directories matching an
+     * exclusion pattern, VCS/IDE/tool metadata directories, and build output directories
+     * next to a build script are skipped with their whole subtree.
+     */
     static class PathCollectingFileVisitor extends SimpleFileVisitor<Path> {
 
+        static final Set<String> EXCLUDED_DIRECTORY_NAMES = new HashSet<>(
+                Arrays.asList(".git", ".gradle", ".idea", ".svn", "node_modules"));
+
+        static final Set<String> BUILD_OUTPUT_DIRECTORY_NAMES = new HashSet<>(Arrays.asList("build", "target"));
+
+        static final List<String> BUILD_SCRIPT_NAMES = Arrays.asList("build.gradle", "build.gradle.kts", "pom.xml");
+
         private final Pattern pattern;
 
-        private final Map<String, JavaSourcePathInfo> map = new HashMap<>();
+        private final List<Pattern> exclusionPatterns;
+
+        private final List<Path> paths = new ArrayList<>();
+
+        private int skippedDirectoryCount;
 
         PathCollectingFileVisitor(Pattern pattern) {
+            this(pattern, Collections.emptyList());
+        }
+
+        PathCollectingFileVisitor(Pattern pattern, List<Pattern> exclusionPatterns) {
             this.pattern = pattern;
+            this.exclusionPatterns = exclusionPatterns;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+            if (isExcludedDirectory(dir)) {
+                logger.debug("Skipping directory [" + dir + "]");
+                this.skippedDirectoryCount++;
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        boolean isExcludedDirectory(Path dir) {
+            if (isExcluded(dir)) {
+                return true;
+            }
+            Path fileName = dir.getFileName();
+            Path parent = dir.getParent();
+            if (fileName == null || parent == null) {
+                return false;
+            }
+            String name = fileName.toString();
+            if (EXCLUDED_DIRECTORY_NAMES.contains(name)) {
+                return true;
+            }
+            // "build" or "target" may also be a package name, only skip build output
+            return BUILD_OUTPUT_DIRECTORY_NAMES.contains(name)
+                    && BUILD_SCRIPT_NAMES.stream().anyMatch(script -> Files.isRegularFile(parent.resolve(script)));
+        }
+
+        private boolean isExcluded(Path path) {
+            String pathString = path.toString();
+            return this.exclusionPatterns.stream().anyMatch(exclusion -> exclusion.matcher(pathString).matches());
         }
 
         @Override
         public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
+            if (isIncluded(path)) {
+                this.paths.add(path);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        /**
+         * Whether the given file is a java file to collect. The directories it is in are
+         * not checked.
+         * @param path file
+         * @return {@code true} if the file is collected
+         */
+        boolean isIncluded(Path path) {
             if (!pattern.matcher(path.toString()).matches()) {
-                return FileVisitResult.CONTINUE;
+                return false;
             }
             else if (!path.toString().endsWith(".java")) {
-                return FileVisitResult.CONTINUE;
+                return false;
             }
             else if (path.toString().endsWith("package-info.java") || path.toString().endsWith("module-info.java")) {
-                return FileVisitResult.CONTINUE;
+                return false;
             }
+            return !isExcluded(path);
+        }
 
-            JavaSource<?> javaSource = Roaster.parse(JavaSource.class, path.toFile());
-
-            // Because of the equality in JavaClassImpl, nested classes under the same
-            // enclosing class are considered equal. Therefore, here needs to use List
-            // to keep each nested class as an independent entry.
-            List<JavaSource<?>> sources = new ArrayList<>();
-            populateJavaSource(javaSource, sources);
+        public List<Path> getPaths() {
+            return this.paths;
+        }
 
-            // To reduce memory usage, for now just putting path instead of JavaSource.
-            // May consider using WeakHashMap with proper key.
-            for (JavaSource<?> source : sources) {
-                String canonicalName = source.getCanonicalName();
-                String qualifiedName = source.getQualifiedName();
-                String simpleName = source.getName();
-                this.map.put(qualifiedName, new JavaSourcePathInfo(path, canonicalName, qualifiedName, simpleName));
-            }
-            return FileVisitResult.CONTINUE;
+        int getSkippedDirectoryCount() {
+            return this.skippedDirectoryCount;
         }
 
-        public Map<String, JavaSourcePathInfo> getMap() {
-            return this.map;
+    }
+
+    /**
+     * Memoized value with the files resolved while computing it.
+     */
+    private static class Memoized<T> {
+
+        @Nullable
+        private final T value;
+
+        private final Set<Path> dependencies;
+
+        Memoized(@Nullable T value, Set<Path> dependencies) {
+            this.value = value;
+            this.dependencies = dependencies;
         }
 
-        // recursively populate nested classes
-        private void populateJavaSource(JavaSource<?> javaSource, List<JavaSource<?>> list) {
-            list.add(javaSource);
-            if (javaSource instanceof TypeHolderSource) {
-                for (JavaSource<?> nested : ((TypeHolderSource<?>) javaSource).getNestedTypes()) {
-                    populateJavaSource(nested, list);
-                }
+    }
+
+    /**
+     * Node of the type hierarchy graph. Parent class and interfaces are kept by qualified
+     * name, so that the graph does not hold parsed java sources.
+     */
+    private static class TypeNode {
+
+        @Nullable
+        private final String superTypeName;
+
+        // as declared, e.g. "ObservationConvention<Observation.Context>"
+        private final List<String> interfaceNames;
+
+        // qualified names, or null when not resolved
+        private final List<String> resolvedInterfaceNames;
+
+        TypeNode(ResolvedType resolvedType) {
+            this.superTypeName = resolvedType.superSource != null ? resolvedType.superSource.getQualifiedName() : null;
+            this.interfaceNames = resolvedType.interfaceNames;
+            this.resolvedInterfaceNames = new ArrayList<>(resolvedType.interfaceSources.size());
+            for (JavaSource<?> interfaceSource : resolvedType.interfaceSources) {
+                this.resolvedInterfaceNames.add(interfaceSource != null ? interfaceSource.getQualifiedName() : null);
             }
         }
 
     }
 
+    private static class ResolvedType {
+
+        @Nullable
+        private final JavaSource<?> superSource;
+
+        private final List<String> interfaceNames;
+
+        // aligned with the interface names, null when not resolved
+        private final List<JavaSource<?>> interfaceSources;
+
+        ResolvedType(@Nullable JavaSource<?> superSource, List<String> interfaceNames,
+                List<JavaSource<?>> interfaceSources) {
+            this.superSource = superSource;
+            this.interfaceNames = interfaceNames;
+            this.interfaceSources = interfaceSources;
+        }
+
+    }
+
+    private static class ConventionSearchContext {
+
+        private final Set<String> inProgress = new HashSet<>();
+
+        private boolean truncated;
+
+    }
+
+    /**
+     * Names of a class read from a java file, before they are added to the
+     * {@link ClassNameIndex}.
+     */
     static class JavaSourcePathInfo {
 
         final Path path;
@@ -599,38 +1073,6 @@ public class JavaSourceSearchHelper {
             this.simpleName = simpleName;
         }
 
-        JavaSource<?> getJavaSource() {
-            JavaSource<?> javaSource;
-            try {
-                javaSource = Roaster.parse(JavaSource.class, this.path.toFile());
-            }
-            catch (IOException ex) {
-                throw new RuntimeException("Failed to parse " + this.path, ex);
-            }
-            JavaSource<?> result = findJavaSource(javaSource, this.qualifiedName);
-            if (result == null) {
-                throw new RuntimeException(String.format("Could not find %s in %s", this.qualifiedName, this.path));
-            }
-            return result;
-        }
-
-        // TODO: may move to appropriate place
-        @Nullable
-        private JavaSource<?> findJavaSource(JavaSource<?> javaSource, String qualifiedName) {
-            if (javaSource.getQualifiedName().equals(qualifiedName)) {
-                return javaSource;
-            }
-            if (javaSource instanceof TypeHolderSource) {
-                for (JavaSource<?> nested : ((TypeHolderSource<?>) javaSource).getNestedTypes()) {
-                    JavaSource<?> result = findJavaSource(nested, qualifiedName);
-                    if (result != null) {
-                        return result;
-                    }
-                }
-            }
-            return null;
-        }
-
     }
 
 }
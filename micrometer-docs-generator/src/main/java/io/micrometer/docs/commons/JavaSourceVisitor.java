@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.forge.roaster.model.source.JavaSource;
+
+/**
+ * Receives the {@link JavaSource} of each scanned java file.
+ *
+ * @see JavaSourceScanner
+ */
+public interface JavaSourceVisitor {
+
+    /**
+     * Visit a parsed top level {@link JavaSource}.
+     * @param javaSource parsed java source
+     */
+    void visit(JavaSource<?> javaSource);
+
+    /**
+     * Pre-filter applied to the raw file content. Files rejected by the pre-filter are
+     * not passed to {@link #visit(JavaSource)}, unless another visitor of the same scan
+     * accepts all files, so the visitor must tolerate files the pre-filter would reject.
+     * @return pre-filter
+     */
+    default JavaSourcePreFilter preFilter() {
+        return JavaSourcePreFilter.ACCEPT_ALL;
+    }
+
+    /**
+     * Called once after all java sources have been visited.
+     */
+    default void complete() {
+    }
+
+    /**
+     * Validate the collected entries. Called once after {@link #complete()}, possibly
+     * concurrently with the validation of other visitors.
+     * @return problem reports, empty if the entries are valid
+     */
+    default List<String> validate() {
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.JavaSourceSearchHelper.PathCollectingFileVisitor;
+
+/**
+ * Watches the directories of the project tree for changes to the java files a
+ * {@link JavaSourceScanner} with the same patterns would scan. Directories skipped by the
+ * scanner are not watched, and directories created later are watched as they appear.
+ * <p>
+ * Changes are reported in bursts: {@link #awaitChanges()} returns once no change has been
+ * seen for the debounce time, so that saving many files at once, or a tool writing a file
+ * in several steps, results in a single regeneration.
+ */
+public class JavaSourceWatcher implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(JavaSourceWatcher.class);
+
+    private final PathCollectingFileVisitor filter;
+
+    private final long debounceMillis;
+
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * Start watching the java files under the project root.
+     * @param projectRoot project root directory
+     * @param inclusionPattern inclusion pattern for java files
+     * @param exclusionPatterns exclusion patterns for java files and directories
+     * @param debounceMillis time without changes before a burst of changes is reported
+     */
+    public JavaSourceWatcher(Path projectRoot, Pattern inclusionPattern, List<Pattern> exclusionPatterns,
+            long debounceMillis) {
+        this.filter = new PathCollectingFileVisitor(inclusionPattern, exclusionPatterns);
+        this.debounceMillis = debounceMillis;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to create a watch service", ex);
+        }
+        register(projectRoot, null);
+        logger.debug("Watching [" + this.directories.size() + "] directories");
+    }
+
+    /**
+     * Block until java files change, then until no change has been seen for the debounce
+     * time.
+     * @return changed, created or deleted java files, and directories whose changes were
+     * not all reported
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changed = new LinkedHashSet<>();
+        while (changed.isEmpty()) {
+            WatchKey key = this.watchService.take();
+            while (key != null) {
+                collect(key, changed);
+                key = this.watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return changed;
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = this.directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                logger.warn("Lost file system events in [" + directory + "]");
+                changed.add(directory);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                if (!this.filter.isExcludedDirectory(path)) {
+                    register(path, changed);
+                }
+            }
+            else if (this.filter.isIncluded(path)) {
+                changed.add(path);
+            }
+            else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && this.directories.containsValue(path)) {
+                // moved away with its java files
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            this.directories.remove(key);
+        }
+    }
+
+    /**
+     * Watch the given directory and its subdirectories.
+     * @param root directory
+     * @param changed where to add the java files already in the directories, or
+     * {@code null}
+     */
+    private void register(Path root, @Nullable Set<Path> changed) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (filter.isExcludedDirectory(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    try {
+                        WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                        directories.put(key, dir);
+                    }
+                    catch (NoSuchFileException ex) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (changed != null && filter.isIncluded(file)) {
+                        changed.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException ex) throws IOException {
+                    // deleted while walking, its deletion is reported by its parent
+                    if (ex instanceof NoSuchFileException) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    throw ex;
+                }
+            });
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to watch " + root, ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+
+}
@@ -16,7 +16,12 @@
 
 package io.micrometer.docs.commons;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import io.micrometer.common.docs.KeyName;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 
 /**
  * Model object for {@link KeyName}.
@@ -69,4 +74,29 @@ public class KeyNameEntry implements Comparable<KeyNameEntry> {
         this.required = required;
     }
 
+    /**
+     * Write this entry to the extracted entry cache.
+     * @param out output
+     * @throws IOException on write failure
+     */
+    public void write(DataOutput out) throws IOException {
+        DataStreamUtils.writeString(out, this.name);
+        DataStreamUtils.writeString(out, this.description);
+        out.writeBoolean(this.required);
+    }
+
+    /**
+     * Read an entry written by {@link #write(DataOutput)}.
+     * @param in input
+     * @return read entry
+     * @throws IOException on read failure
+     */
+    public static KeyNameEntry read(DataInput in) throws IOException {
+        KeyNameEntry entry = new KeyNameEntry();
+        entry.name = DataStreamUtils.readString(in);
+        entry.description = DataStreamUtils.readString(in);
+        entry.required = in.readBoolean();
+        return entry;
+    }
+
 }
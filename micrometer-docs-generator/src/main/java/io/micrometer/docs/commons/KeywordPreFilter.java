@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.micrometer.common.lang.Nullable;
+
+/**
+ * {@link JavaSourcePreFilter} matching ASCII keywords against the raw file bytes, without
+ * decoding the content.
+ */
+class KeywordPreFilter implements JavaSourcePreFilter {
+
+    @Nullable
+    private final byte[] required;
+
+    private final List<byte[]> anyOf;
+
+    KeywordPreFilter(Collection<String> anyOf) {
+        this.required = null;
+        this.anyOf = toBytes(anyOf);
+    }
+
+    KeywordPreFilter(String required, Collection<String> anyOf) {
+        this.required = required.getBytes(StandardCharsets.US_ASCII);
+        this.anyOf = toBytes(anyOf);
+    }
+
+    private static List<byte[]> toBytes(Collection<String> keywords) {
+        return keywords.stream().map(s -> s.getBytes(StandardCharsets.US_ASCII)).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean test(ByteBuffer content) {
+        if (this.required != null && !contains(content, this.required)) {
+            return false;
+        }
+        for (byte[] keyword : this.anyOf) {
+            if (contains(content, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean contains(ByteBuffer content, byte[] keyword) {
+        int start = content.position();
+        int last = content.limit() - keyword.length;
+        byte first = keyword[0];
+        for (int i = start; i <= last; i++) {
+            if (content.get(i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < keyword.length && content.get(i + j) == keyword[j]) {
+                j++;
+            }
+            if (j == keyword.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each phase of the generation took and counts the work done, per scope.
+ * The shared work of the scanner, walking, indexing and parsing the project, is recorded
+ * in the {@link #SCAN} scope, and the work of each generator in its own scope.
+ * <p>
+ * Parse times are summed across the parsing threads, and include files parsed again after
+ * they have been evicted from the {@link JavaSourceCache}. Since documents are streamed
+ * to their output, applying the template is part of the write phase.
+ */
+public class Profiler {
+
+    /**
+     * Scope of the work shared by all generators.
+     */
+    public static final String SCAN = "scan";
+
+    private final Map<String, Scope> scopes = new LinkedHashMap<>();
+
+    private volatile String currentScope = SCAN;
+
+    /**
+     * Record the elapsed time of a phase.
+     * @param scope scope
+     * @param phase phase
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void record(String scope, Phase phase, long nanos) {
+        synchronized (this.scopes) {
+            scope(scope).phases.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * Record the elapsed time of a phase in the {@link #getCurrentScope() current scope}.
+     * @param phase phase
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        record(this.currentScope, phase, nanos);
+    }
+
+    /**
+     * Run the given action and record its elapsed time.
+     * @param scope scope
+     * @param phase phase
+     * @param action action to time
+     * @param <T> result type
+     * @return result of the action
+     */
+    public <T> T time(String scope, Phase phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        }
+        finally {
+            record(scope, phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Add to a counter.
+     * @param scope scope
+     * @param counter counter
+     * @param delta value to add
+     */
+    public void increment(String scope, Counter counter, long delta) {
+        synchronized (this.scopes) {
+            scope(scope).counters.merge(counter, delta, Long::sum);
+        }
+    }
+
+    /**
+     * Add to a counter in the {@link #getCurrentScope() current scope}.
+     * @param counter counter
+     * @param delta value to add
+     */
+    public void increment(Counter counter, long delta) {
+        increment(this.currentScope, counter, delta);
+    }
+
+    /**
+     * Set a counter to a value tracked elsewhere, e.g. a cache hit count.
+     * @param scope scope
+     * @param counter counter
+     * @param value value
+     */
+    public void set(String scope, Counter counter, long value) {
+        synchronized (this.scopes) {
+            scope(scope).counters.put(counter, value);
+        }
+    }
+
+    /**
+     * Elapsed time recorded for a phase.
+     * @param scope scope
+     * @param phase phase
+     * @return elapsed time in nanoseconds
+     */
+    public long getNanos(String scope, Phase phase) {
+        synchronized (this.scopes) {
+            Scope recorded = this.scopes.get(scope);
+            return recorded != null ? recorded.phases.getOrDefault(phase, 0L) : 0L;
+        }
+    }
+
+    /**
+     * Value of a counter.
+     * @param scope scope
+     * @param counter counter
+     * @return counter value
+     */
+    public long getCount(String scope, Counter counter) {
+        synchronized (this.scopes) {
+            Scope recorded = this.scopes.get(scope);
+            return recorded != null ? recorded.counters.getOrDefault(counter, 0L) : 0L;
+        }
+    }
+
+    /**
+     * Scopes in the order they were first recorded.
+     * @return scope names
+     */
+    public List<String> getScopes() {
+        synchronized (this.scopes) {
+            return new ArrayList<>(this.scopes.keySet());
+        }
+    }
+
+    /**
+     * Scope for the work that does not know which scope it belongs to, such as writing a
+     * document.
+     * @return current scope
+     */
+    public String getCurrentScope() {
+        return this.currentScope;
+    }
+
+    public void setCurrentScope(String currentScope) {
+        this.currentScope = currentScope;
+    }
+
+    private Scope scope(String name) {
+        return this.scopes.computeIfAbsent(name, (key) -> new Scope());
+    }
+
+    /**
+     * Format the recorded phases in milliseconds and the counters as tables with a row
+     * per scope.
+     * @return tables
+     */
+    public String formatTable() {
+        List<String> names = getScopes();
+        int width = Math.max("scope".length(), names.stream().mapToInt(String::length).max().orElse(0));
+        StringBuilder sb = new StringBuilder();
+        sb.append("phases (ms)").append(System.lineSeparator());
+        appendCell(sb, "scope", -width);
+        for (Phase phase : Phase.values()) {
+            appendCell(sb, phase.key, columnWidth(phase.key));
+        }
+        sb.append(System.lineSeparator());
+        for (String name : names) {
+            appendCell(sb, name, -width);
+            for (Phase phase : Phase.values()) {
+                String millis = String.format(Locale.ROOT, "%.3f", getNanos(name, phase) / 1_000_000.0);
+                appendCell(sb, millis, columnWidth(phase.key));
+            }
+            sb.append(System.lineSeparator());
+        }
+        sb.append(System.lineSeparator());
+        sb.append("counters").append(System.lineSeparator());
+        appendCell(sb, "scope", -width);
+        for (Counter counter : Counter.values()) {
+            appendCell(sb, counter.key, columnWidth(counter.key));
+        }
+        sb.append(System.lineSeparator());
+        for (String name : names) {
+            appendCell(sb, name, -width);
+            for (Counter counter : Counter.values()) {
+                appendCell(sb, Long.toString(getCount(name, counter)), columnWidth(counter.key));
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static int columnWidth(String header) {
+        return Math.max(12, header.length());
+    }
+
+    // pads to the right with a negative width
+    private static void appendCell(StringBuilder sb, String value, int width) {
+        if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '\n') {
+            sb.append(' ');
+        }
+        int padding = Math.abs(width) - value.length();
+        if (width < 0) {
+            sb.append(value);
+        }
+        for (int i = 0; i < padding; i++) {
+            sb.append(' ');
+        }
+        if (width > 0) {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * Format the recorded phases in nanoseconds and the counters as JSON.
+     * @return JSON document
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"timeUnit\": \"nanoseconds\",\n  \"scopes\": [");
+        List<String> names = getScopes();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\n      \"name\": \"").append(escape(name)).append("\",\n");
+            sb.append("      \"phases\": {");
+            Phase[] phases = Phase.values();
+            for (int j = 0; j < phases.length; j++) {
+                sb.append(j == 0 ? " " : ", ").append('"').append(phases[j].key).append("\": ");
+                sb.append(getNanos(name, phases[j]));
+            }
+            sb.append(" },\n      \"counters\": {");
+            Counter[] counters = Counter.values();
+            for (int j = 0; j < counters.length; j++) {
+                sb.append(j == 0 ? " " : ", ").append('"').append(counters[j].key).append("\": ");
+                sb.append(getCount(name, counters[j]));
+            }
+            sb.append(" }\n    }");
+        }
+        sb.append(names.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            }
+            else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Phases of the generation.
+     */
+    public enum Phase {
+
+        /**
+         * Walking the project tree to collect the java files.
+         */
+        WALK("walk"),
+
+        /**
+         * Indexing the classes of the java files, including parsing them.
+         */
+        INDEX("index"),
+
+        /**
+         * Parsing java files, summed across threads.
+         */
+        PARSE("parse"),
+
+        /**
+         * Extracting the documentation entries from the java files.
+         */
+        EXTRACT("extract"),
+
+        /**
+         * Validating the extracted entries.
+         */
+        VALIDATE("validate"),
+
+        /**
+         * Preparing the entries and the template for rendering.
+         */
+        RENDER("render"),
+
+        /**
+         * Applying the template and writing the document.
+         */
+        WRITE("write");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+    }
+
+    /**
+     * Counters of the work done.
+     */
+    public enum Counter {
+
+        /**
+         * Java files walked by the scanner, or passed to the visitor of a generator.
+         */
+        FILES_VISITED("filesVisited"),
+
+        /**
+         * Java files parsed.
+         */
+        FILES_PARSED("filesParsed"),
+
+        /**
+         * Lookups answered by the parsed java file cache.
+         */
+        PARSE_CACHE_HITS("parseCacheHits"),
+
+        /**
+         * Lookups that had to parse the java file.
+         */
+        PARSE_CACHE_MISSES("parseCacheMisses"),
+
+        /**
+         * Lookups of classes referenced from a java file.
+         */
+        RESOLUTION_LOOKUPS("resolutionLookups"),
+
+        /**
+         * Lookups of referenced classes that are not in the project.
+         */
+        RESOLUTION_MISSES("resolutionMisses"),
+
+        /**
+         * Bytes of the rendered documents.
+         */
+        BYTES_WRITTEN("bytesWritten");
+
+        private final String key;
+
+        Counter(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+    }
+
+    private static final class Scope {
+
+        private final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+
+        private final Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+
+    }
+
+}
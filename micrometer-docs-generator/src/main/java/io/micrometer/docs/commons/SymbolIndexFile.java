@@ -0,0 +1,372 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+
+/**
+ * Class index persisted between runs, so that only changed java files are parsed again.
+ * <p>
+ * Each java file is recorded with its path relative to the project root, size, last
+ * modified time, and content hash. A file is considered unchanged when its size and last
+ * modified time match, or when its size and content hash match (e.g. a fresh checkout).
+ */
+class SymbolIndexFile {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SymbolIndexFile.class);
+
+    static final int MAGIC = 0x4d444749; // "MDGI"
+
+    static final int VERSION = 1;
+
+    private final Path projectRoot;
+
+    private final Path file;
+
+    // entries loaded from the file
+    private final Map<String, Entry> previous;
+
+    // entries for the current run, keyed by relative path
+    private final Map<String, Entry> current = new HashMap<>();
+
+    // files or directories known to have changed, normalized
+    private List<Path> modifiedPaths = Collections.emptyList();
+
+    private final AtomicLong reusedCount = new AtomicLong();
+
+    private final AtomicLong indexedCount = new AtomicLong();
+
+    private SymbolIndexFile(Path projectRoot, Path file, Map<String, Entry> previous) {
+        this.projectRoot = projectRoot;
+        this.file = file;
+        this.previous = previous;
+    }
+
+    /**
+     * Load the index file. A missing, outdated, or unreadable file results in an empty
+     * index.
+     * @param projectRoot project root directory
+     * @param file index file
+     * @return loaded index
+     */
+    static SymbolIndexFile load(Path projectRoot, Path file) {
+        Map<String, Entry> entries = Collections.emptyMap();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                entries = read(new DataInputStream(new BufferedInputStream(in)));
+            }
+            catch (IOException ex) {
+                logger.debug("Ignoring unreadable symbol index [" + file + "]: " + ex.getMessage());
+            }
+        }
+        logger.debug("Loaded [" + entries.size() + "] files from symbol index [" + file + "]");
+        return new SymbolIndexFile(projectRoot, file, entries);
+    }
+
+    private static Map<String, Entry> read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unsupported format");
+        }
+        int entryCount = in.readInt();
+        Map<String, Entry> entries = new HashMap<>(entryCount * 2);
+        for (int i = 0; i < entryCount; i++) {
+            String relativePath = in.readUTF();
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            byte[] hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            int typeCount = in.readInt();
+            List<String[]> typeNames = new ArrayList<>(typeCount);
+            for (int j = 0; j < typeCount; j++) {
+                typeNames.add(new String[] { in.readUTF(), in.readUTF(), in.readUTF() });
+            }
+            entries.put(relativePath, new Entry(relativePath, size, lastModified, hash, typeNames));
+        }
+        return entries;
+    }
+
+    /**
+     * Retrieve the indexed classes of the given java file if it has not changed since it
+     * was recorded.
+     * @param path java file
+     * @return indexed classes, or {@code null} if the file needs to be parsed
+     */
+    @Nullable
+    List<JavaSourcePathInfo> lookup(Path path) {
+        String relativePath = relativize(path);
+        Entry entry = this.previous.get(relativePath);
+        if (entry == null || isModified(path)) {
+            return null;
+        }
+        BasicFileAttributes attributes = readAttributes(path);
+        if (attributes.size() != entry.size) {
+            return null;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (lastModified != entry.lastModified) {
+            if (!Arrays.equals(hash(path), entry.hash)) {
+                return null;
+            }
+            entry = new Entry(relativePath, entry.size, lastModified, entry.hash, entry.typeNames);
+        }
+        synchronized (this.current) {
+            this.current.put(relativePath, entry);
+        }
+        this.reusedCount.incrementAndGet();
+        return entry.toPathInfos(path);
+    }
+
+    /**
+     * Set the files and directories known to have changed, whose java files are indexed
+     * again even when their size and last modified time match.
+     * @param modifiedPaths modified java files or directories
+     */
+    void setModifiedPaths(Collection<Path> modifiedPaths) {
+        this.modifiedPaths = modifiedPaths.stream()
+            .map((path) -> path.toAbsolutePath().normalize())
+            .collect(Collectors.toList());
+    }
+
+    private boolean isModified(Path path) {
+        if (this.modifiedPaths.isEmpty()) {
+            return false;
+        }
+        Path absolutePath = path.toAbsolutePath().normalize();
+        return this.modifiedPaths.stream().anyMatch(absolutePath::startsWith);
+    }
+
+    /**
+     * Record the indexed classes of a parsed java file.
+     * @param path java file
+     * @param pathInfos indexed classes
+     */
+    void record(Path path, List<JavaSourcePathInfo> pathInfos) {
+        String relativePath = relativize(path);
+        BasicFileAttributes attributes = readAttributes(path);
+        List<String[]> typeNames = new ArrayList<>(pathInfos.size());
+        for (JavaSourcePathInfo pathInfo : pathInfos) {
+            typeNames.add(new String[] { pathInfo.canonicalName, pathInfo.qualifiedName, pathInfo.simpleName });
+        }
+        Entry entry = new Entry(relativePath, attributes.size(), attributes.lastModifiedTime().toMillis(), hash(path),
+                typeNames);
+        entry.recorded = true;
+        synchronized (this.current) {
+            this.current.put(relativePath, entry);
+        }
+        this.indexedCount.incrementAndGet();
+    }
+
+    /**
+     * Write the entries of the current run to the index file. Files not looked up or
+     * recorded in this run are dropped.
+     */
+    void save() {
+        Map<String, Entry> entries;
+        synchronized (this.current) {
+            // sort for a deterministic file content
+            entries = new TreeMap<>(this.current);
+        }
+        try {
+            Path parent = this.file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out, entries);
+            }
+            try {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to write symbol index " + this.file, ex);
+        }
+        logger.debug("Saved symbol index [" + this.file + "]: reused=" + this.reusedCount + ", indexed="
+                + this.indexedCount);
+    }
+
+    private static void write(DataOutputStream out, Map<String, Entry> entries) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (Entry entry : entries.values()) {
+            out.writeUTF(entry.relativePath);
+            out.writeLong(entry.size);
+            out.writeLong(entry.lastModified);
+            out.writeByte(entry.hash.length);
+            out.write(entry.hash);
+            out.writeInt(entry.typeNames.size());
+            for (String[] names : entry.typeNames) {
+                for (String name : names) {
+                    out.writeUTF(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Java files added, changed, or removed since the previous run, i.e. recorded in this
+     * run or only present in the previous run.
+     * @return relative paths of the changed java files
+     */
+    Set<String> getChangedPaths() {
+        synchronized (this.current) {
+            Set<String> changedPaths = this.current.entrySet()
+                .stream()
+                .filter((entry) -> entry.getValue().recorded)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+            for (String relativePath : this.previous.keySet()) {
+                if (!this.current.containsKey(relativePath)) {
+                    changedPaths.add(relativePath);
+                }
+            }
+            return changedPaths;
+        }
+    }
+
+    /**
+     * Whether the declared classes have changed since the previous run: java files have
+     * been added or removed, or a changed java file declares other classes. A class name
+     * may then resolve to another class, also from files which did not depend on the
+     * changed ones.
+     * @return {@code true} if the declared classes have changed
+     */
+    boolean hasChangedDeclarations() {
+        synchronized (this.current) {
+            if (!this.previous.keySet().equals(this.current.keySet())) {
+                return true;
+            }
+            for (Entry entry : this.current.values()) {
+                if (entry.recorded && !entry.declaresSameTypes(this.previous.get(entry.relativePath))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    long getReusedCount() {
+        return this.reusedCount.get();
+    }
+
+    long getIndexedCount() {
+        return this.indexedCount.get();
+    }
+
+    private String relativize(Path path) {
+        return this.projectRoot.relativize(path).toString();
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to read attributes of " + path, ex);
+        }
+    }
+
+    static byte[] hash(Path path) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(Files.readAllBytes(path));
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Failed to read " + path, ex);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static class Entry {
+
+        final String relativePath;
+
+        final long size;
+
+        final long lastModified;
+
+        final byte[] hash;
+
+        // canonical name, qualified name, and simple name of each class in the file
+        final List<String[]> typeNames;
+
+        // whether the file has been parsed in this run
+        boolean recorded;
+
+        Entry(String relativePath, long size, long lastModified, byte[] hash, List<String[]> typeNames) {
+            this.relativePath = relativePath;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.typeNames = typeNames;
+        }
+
+        boolean declaresSameTypes(Entry other) {
+            if (this.typeNames.size() != other.typeNames.size()) {
+                return false;
+            }
+            for (int i = 0; i < this.typeNames.size(); i++) {
+                if (!Arrays.equals(this.typeNames.get(i), other.typeNames.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<JavaSourcePathInfo> toPathInfos(Path path) {
+            List<JavaSourcePathInfo> pathInfos = new ArrayList<>(this.typeNames.size());
+            for (String[] names : this.typeNames) {
+                pathInfos.add(new JavaSourcePathInfo(path, names[0], names[1], names[2]));
+            }
+            return pathInfos;
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.observation;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.docs.MeterDocumentation;
+
+/**
+ * Meters counting the operations of the documentation generation.
+ */
+public enum DocsGeneratorMeterDocumentation implements MeterDocumentation {
+
+    /**
+     * Java files parsed, including files parsed again after they have been evicted from
+     * the parsed file cache.
+     */
+    PARSES {
+        @Override
+        public String getName() {
+            return "micrometer.docs.parses";
+        }
+
+        @Override
+        public Meter.Type getType() {
+            return Meter.Type.COUNTER;
+        }
+    },
+
+    /**
+     * Lookups of the classes referenced from java files.
+     */
+    LOOKUPS {
+        @Override
+        public String getName() {
+            return "micrometer.docs.lookups";
+        }
+
+        @Override
+        public Meter.Type getType() {
+            return Meter.Type.COUNTER;
+        }
+
+        @Override
+        public KeyName[] getKeyNames() {
+            return LookupKeyNames.values();
+        }
+    };
+
+    public enum LookupKeyNames implements KeyName {
+
+        /**
+         * Whether the referenced class was found in the project, {@code resolved} or
+         * {@code unresolved}.
+         */
+        RESULT {
+            @Override
+            public String asString() {
+                return "result";
+            }
+        }
+
+    }
+
+}
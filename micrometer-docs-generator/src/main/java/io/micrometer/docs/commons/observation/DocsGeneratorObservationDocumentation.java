@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.observation;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.observation.docs.ObservationDocumentation;
+
+/**
+ * Observations of the phases of the documentation generation.
+ */
+public enum DocsGeneratorObservationDocumentation implements ObservationDocumentation {
+
+    /**
+     * Walking the project tree and indexing the classes of the java files.
+     */
+    SCAN {
+        @Override
+        public String getName() {
+            return "micrometer.docs.scan";
+        }
+    },
+
+    /**
+     * Passing the java files to the generators, which extract their documentation entries
+     * and resolve the classes referenced by them.
+     */
+    RESOLVE {
+        @Override
+        public String getName() {
+            return "micrometer.docs.resolve";
+        }
+    },
+
+    /**
+     * Validating the entries extracted for a generator.
+     */
+    VALIDATE {
+        @Override
+        public String getName() {
+            return "micrometer.docs.validate";
+        }
+
+        @Override
+        public KeyName[] getLowCardinalityKeyNames() {
+            return GeneratorKeyNames.values();
+        }
+    },
+
+    /**
+     * Rendering the documentation of a generator to its output.
+     */
+    RENDER {
+        @Override
+        public String getName() {
+            return "micrometer.docs.render";
+        }
+
+        @Override
+        public KeyName[] getLowCardinalityKeyNames() {
+            return GeneratorKeyNames.values();
+        }
+    };
+
+    public enum GeneratorKeyNames implements KeyName {
+
+        /**
+         * Name of the generator.
+         */
+        GENERATOR {
+            @Override
+            public String asString() {
+                return "generator";
+            }
+        }
+
+    }
+
+}
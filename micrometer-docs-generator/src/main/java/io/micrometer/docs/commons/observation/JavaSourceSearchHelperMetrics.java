@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.observation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.docs.commons.JavaSourceSearchHelper;
+import io.micrometer.docs.commons.observation.DocsGeneratorMeterDocumentation.LookupKeyNames;
+
+/**
+ * Binds the {@link DocsGeneratorMeterDocumentation meters} counting the parse and lookup
+ * operations of a {@link JavaSourceSearchHelper}. The counts are read from the search
+ * helper, so binding them adds no work to the generation.
+ */
+public class JavaSourceSearchHelperMetrics implements MeterBinder {
+
+    private final JavaSourceSearchHelper searchHelper;
+
+    public JavaSourceSearchHelperMetrics(JavaSourceSearchHelper searchHelper) {
+        this.searchHelper = searchHelper;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter
+            .builder(DocsGeneratorMeterDocumentation.PARSES.getName(), this.searchHelper,
+                    (helper) -> helper.getJavaSourceCache().getMissCount())
+            .description("Java files parsed")
+            .register(registry);
+        FunctionCounter
+            .builder(DocsGeneratorMeterDocumentation.LOOKUPS.getName(), this.searchHelper,
+                    (helper) -> helper.getReferenceLookupCount() - helper.getUnresolvedReferenceCount())
+            .tag(LookupKeyNames.RESULT.asString(), "resolved")
+            .description("Lookups of referenced classes")
+            .register(registry);
+        FunctionCounter
+            .builder(DocsGeneratorMeterDocumentation.LOOKUPS.getName(), this.searchHelper,
+                    JavaSourceSearchHelper::getUnresolvedReferenceCount)
+            .tag(LookupKeyNames.RESULT.asString(), "unresolved")
+            .description("Lookups of referenced classes")
+            .register(registry);
+    }
+
+}
@@ -38,14 +38,22 @@ public class ADocHelpers {
      * value multiple times, it appends a suffix to the anchor value to make it unique.
      * The suffix takes the form of "-1", "-2", and so on, incrementing with each
      * occurrence.
+     * <p>
+     * The values seen so far are kept in the data of the rendering context, so that each
+     * rendering starts over and the helper can be shared by concurrent renderings.
      */
     public static class AnchorHelper implements Helper<String> {
 
-        private final Map<String, Integer> map = new HashMap<>();
+        private static final String ANCHORS_DATA_NAME = AnchorHelper.class.getName() + ".anchors";
 
         @Override
         public Object apply(String context, Options options) throws IOException {
-            int suffixNumber = this.map.compute(context, (key, number) -> (number == null) ? 0 : number + 1);
+            Map<String, Integer> map = options.data(ANCHORS_DATA_NAME);
+            if (map == null) {
+                map = new HashMap<>();
+                options.data(ANCHORS_DATA_NAME, map);
+            }
+            int suffixNumber = map.compute(context, (key, number) -> (number == null) ? 0 : number + 1);
             // returns foo, foo-1, foo-2, ...
             return suffixNumber == 0 ? context : context + "-" + suffixNumber;
         }
@@ -16,8 +16,14 @@
 package io.micrometer.docs.commons.templates;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
@@ -34,6 +40,11 @@ import com.github.jknack.handlebars.io.TemplateLoader;
  */
 public class HandlebarsUtils {
 
+    // Handlebars is thread-safe once configured, and so are the compiled templates
+    private static final Handlebars HANDLEBARS = createHandlebars();
+
+    private static final Map<String, CompiledTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     public static Handlebars createHandlebars() {
         // specify default prefix and empty suffix. The empty suffix forces users to
         // specify the full template file name. (e.g. foo.adoc.hbs)
@@ -55,14 +66,37 @@ public class HandlebarsUtils {
      * While loading the template, this method converts the line delimiter from the one
      * used in template file("LF") to the one from the running OS. (for example, "CRLF" on
      * a windows machine).
+     * <p>
+     * Templates are compiled by a shared {@link Handlebars} instance and cached for the
+     * lifetime of the process. The template content is read on each call and the cached
+     * template is only compiled again when the content hash differs, so that changes to
+     * file templates are picked up.
      * @param templateLocation template location (either in classpath or file system)
      * @return a template
      * @throws IOException If the template's source can't be resolved.
      */
     public static Template createTemplate(String templateLocation) throws IOException {
-        Handlebars handlebars = createHandlebars();
-        String content = handlebars.getLoader().sourceAt(templateLocation).content(StandardCharsets.UTF_8);
+        String content = HANDLEBARS.getLoader().sourceAt(templateLocation).content(StandardCharsets.UTF_8);
+        byte[] hash = hash(content);
+        try {
+            return TEMPLATES.compute(templateLocation, (location, cached) -> {
+                if (cached != null && Arrays.equals(cached.hash, hash)) {
+                    return cached;
+                }
+                try {
+                    return new CompiledTemplate(hash, compile(content));
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }).template;
+        }
+        catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
 
+    private static Template compile(String content) throws IOException {
         // replace the line delimiter in template file to the running OS specific one
         StringBuilder sb = new StringBuilder();
         try (Scanner scanner = new Scanner(content)) {
@@ -71,7 +105,29 @@ public class HandlebarsUtils {
                 sb.append(System.lineSeparator());
             }
         }
-        return handlebars.compileInline(sb.toString());
+        return HANDLEBARS.compileInline(sb.toString());
+    }
+
+    private static byte[] hash(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class CompiledTemplate {
+
+        private final byte[] hash;
+
+        private final Template template;
+
+        private CompiledTemplate(byte[] hash, Template template) {
+            this.hash = hash;
+            this.template = template;
+        }
+
     }
 
 }
@@ -16,9 +16,6 @@
 package io.micrometer.docs.commons.utils;
 
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
@@ -30,6 +27,10 @@ import org.jboss.forge.roaster.model.source.JavaDocSource;
 /**
  * Utilities to parse javadoc fragments in various form (String, modelling objects) to
  * asciidoc strings.
+ * <p>
+ * The conversion is done in a single pass over the javadoc fragments into a per-thread
+ * buffer, followed by a single pass over the buffer to tidy up the whitespaces of each
+ * line.
  */
 public class AsciidocUtils {
 
@@ -41,40 +42,178 @@ public class AsciidocUtils {
 
     private static final String PARAGRAPH_BREAK = NEWLINE + NEWLINE;
 
-    private static final Pattern NEWLINE_PATTERN = Pattern.compile("\\R");
+    private static final String STRONG_CLOSE = "</strong>";
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
 
     public static final String simpleHtmlToAsciidoc(String line, boolean assumeLiOrdered) {
-        // @formatter:off
-        String asciidoc = line
-                .replaceAll("<p/?>", PARAGRAPH_BREAK)
-                .replaceAll("<br/?>", LINE_BREAK)
-                .replaceAll("<strong>", PARAGRAPH_BREAK + "IMPORTANT: ")
-                .replaceAll("</strong>\\h+", PARAGRAPH_BREAK)
-                .replaceAll("</?b>", "*")
-                .replaceAll("</?i>", "_")
-                .replaceAll("<ul>", NEWLINE)
-                .replaceAll("<ol>", NEWLINE)
-                .replaceAll("</[uo]l>", NEWLINE)
-                .replaceAll("<li>", NEWLINE + (assumeLiOrdered ? " 1. " : " - "));
-        // @formatter:on
-        // strip all other tags (closing tags, unknown tags)
-        return asciidoc.replaceAll("<[^<>]*>", "");
+        StringBuilder sb = new StringBuilder(line.length() + 16);
+        appendSimpleHtml(sb, line, assumeLiOrdered);
+        return sb.toString();
+    }
+
+    /**
+     * Convert the supported HTML tags to asciidoc and strip all other tags (closing tags,
+     * unknown tags).
+     * <p>
+     * Supported tags are converted where they appear, even within other tags. A "&lt;"
+     * that does not start a supported tag starts a tag to strip when a "&gt;" follows
+     * before the next such "&lt;". In that case, everything appended since the "&lt;" is
+     * removed, including converted tags. "&lt;/strong&gt;" is only converted when
+     * followed by a horizontal whitespace or a line break tag.
+     * @param sb buffer to append to
+     * @param line javadoc text
+     * @param assumeLiOrdered whether list items are rendered as an ordered list
+     */
+    private static void appendSimpleHtml(StringBuilder sb, String line, boolean assumeLiOrdered) {
+        int openTagIndex = -1;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (c == '>') {
+                if (openTagIndex >= 0) {
+                    sb.setLength(openTagIndex);
+                    openTagIndex = -1;
+                }
+                else {
+                    sb.append(c);
+                }
+                i++;
+                continue;
+            }
+            if (c != '<') {
+                sb.append(c);
+                i++;
+                continue;
+            }
+            int tagLength = appendTag(sb, line, i, assumeLiOrdered);
+            if (tagLength > 0) {
+                i += tagLength;
+                continue;
+            }
+            // the previous unclosed "<" is kept as is
+            openTagIndex = sb.length();
+            sb.append(c);
+            i++;
+        }
+    }
+
+    /**
+     * Append the asciidoc for the supported tag at the given index.
+     * @return length of the converted tag, or {@code 0} if there is no supported tag
+     */
+    private static int appendTag(StringBuilder sb, String line, int index, boolean assumeLiOrdered) {
+        if (line.startsWith("<p>", index)) {
+            sb.append(PARAGRAPH_BREAK);
+            return 3;
+        }
+        if (line.startsWith("<p/>", index)) {
+            sb.append(PARAGRAPH_BREAK);
+            return 4;
+        }
+        if (line.startsWith("<br>", index)) {
+            sb.append(LINE_BREAK);
+            return 4;
+        }
+        if (line.startsWith("<br/>", index)) {
+            sb.append(LINE_BREAK);
+            return 5;
+        }
+        if (line.startsWith("<strong>", index)) {
+            sb.append(PARAGRAPH_BREAK).append("IMPORTANT: ");
+            return 8;
+        }
+        if (line.startsWith(STRONG_CLOSE, index)) {
+            return appendStrongClose(sb, line, index);
+        }
+        if (line.startsWith("<b>", index)) {
+            sb.append('*');
+            return 3;
+        }
+        if (line.startsWith("</b>", index)) {
+            sb.append('*');
+            return 4;
+        }
+        if (line.startsWith("<i>", index)) {
+            sb.append('_');
+            return 3;
+        }
+        if (line.startsWith("</i>", index)) {
+            sb.append('_');
+            return 4;
+        }
+        if (line.startsWith("<ul>", index) || line.startsWith("<ol>", index)) {
+            sb.append(NEWLINE);
+            return 4;
+        }
+        if (line.startsWith("</ul>", index) || line.startsWith("</ol>", index)) {
+            sb.append(NEWLINE);
+            return 5;
+        }
+        if (line.startsWith("<li>", index)) {
+            sb.append(NEWLINE).append(assumeLiOrdered ? " 1. " : " - ");
+            return 4;
+        }
+        return 0;
+    }
+
+    private static int appendStrongClose(StringBuilder sb, String line, int index) {
+        int end = index + STRONG_CLOSE.length();
+        while (end < line.length() && isHorizontalWhitespace(line.charAt(end))) {
+            end++;
+        }
+        // a line break starts with a whitespace which is absorbed as well
+        int lineBreakLength = line.startsWith("<br>", end) ? 4 : line.startsWith("<br/>", end) ? 5 : 0;
+        if (end == index + STRONG_CLOSE.length() && lineBreakLength == 0) {
+            return 0;
+        }
+        sb.append(PARAGRAPH_BREAK);
+        if (lineBreakLength > 0) {
+            sb.append(LINE_BREAK, 1, LINE_BREAK.length());
+        }
+        return end + lineBreakLength - index;
     }
 
     public static final String simpleTagletToAsciidoc(String tagletName, List<?> tagletFragments) {
+        StringBuilder sb = new StringBuilder();
+        appendSimpleTaglet(sb, tagletName, tagletFragments);
+        return sb.toString();
+    }
+
+    private static void appendSimpleTaglet(StringBuilder sb, String tagletName, List<?> tagletFragments) {
         if ("@code".equals(tagletName) || "@value".equals(tagletName)) {
-            return tagletFragments.stream().map(o -> o.toString().trim()).collect(Collectors.joining(" ", "`", "`"));
+            sb.append('`');
+            appendFragments(sb, tagletFragments, 0);
+            sb.append('`');
         }
-        if ("@link".equals(tagletName) || "@linkplain".equals(tagletName)) {
-            Stream<String> stream = tagletFragments.stream().map(o -> o.toString().trim());
+        else if ("@link".equals(tagletName) || "@linkplain".equals(tagletName)) {
+            if (tagletFragments.size() > 1) {
+                appendFragments(sb, tagletFragments, 1);
+            }
+            else {
+                sb.append('`');
+                appendFragments(sb, tagletFragments, 0);
+                sb.append('`');
+            }
+        }
+        else {
+            // render the full taglet as an inline code block
+            sb.append("`{").append(tagletName);
+            for (Object fragment : tagletFragments) {
+                sb.append(' ').append(fragment.toString().trim());
+            }
+            sb.append("}`");
+        }
+    }
 
-            if (tagletFragments.size() > 1)
-                return stream.skip(1).collect(Collectors.joining(" "));
-            return stream.collect(Collectors.joining(" ", "`", "`"));
+    private static void appendFragments(StringBuilder sb, List<?> fragments, int from) {
+        for (int i = from; i < fragments.size(); i++) {
+            if (i > from) {
+                sb.append(' ');
+            }
+            sb.append(fragments.get(i).toString().trim());
         }
-        // render the full taglet as an inline code block
-        return Stream.concat(Stream.of(tagletName), tagletFragments.stream().map(o -> o.toString().trim()))
-            .collect(Collectors.joining(" ", "`{", "}`"));
     }
 
     public static final String javadocToAsciidoc(JavaDocSource<?> javadoc) {
@@ -85,7 +224,9 @@ public class AsciidocUtils {
         Javadoc internalJavadoc = (Javadoc) internal;
         @SuppressWarnings("unchecked")
         List<TagElement> tagList = internalJavadoc.tags();
-        StringBuilder text = new StringBuilder();
+        Buffers buffers = BUFFERS.get();
+        StringBuilder text = buffers.text;
+        text.setLength(0);
 
         boolean openedOrderedList = false;
         for (TagElement tagElement : tagList) {
@@ -99,7 +240,7 @@ public class AsciidocUtils {
                     String line = textElement.getText();
                     // inline taglets will be separate fragments. we only care for
                     // embedded HTML subset
-                    if (line.contains("<") && line.contains(">")) {
+                    if (line.indexOf('<') >= 0 && line.indexOf('>') >= 0) {
                         // only reset the li type when explicitly encountering an ol or
                         // ul.
                         // note ol takes precedence, and this doesn't really work with
@@ -111,7 +252,7 @@ public class AsciidocUtils {
                             openedOrderedList = true;
                         }
 
-                        text.append(simpleHtmlToAsciidoc(line, openedOrderedList));
+                        appendSimpleHtml(text, line, openedOrderedList);
                     }
                     else {
                         // we append a space at the end so that javadoc linebreaks in the
@@ -121,25 +262,78 @@ public class AsciidocUtils {
                 }
                 else if (fragment instanceof TagElement) {
                     TagElement tagFragment = (TagElement) fragment;
-                    text.append(simpleTagletToAsciidoc(tagFragment.getTagName(), tagFragment.fragments()));
+                    appendSimpleTaglet(text, tagFragment.getTagName(), tagFragment.fragments());
                 }
                 else {
                     LOGGER.debug("dropped fragment during javadoc to asciidoc parsing: %s", tagElement);
                 }
             }
         }
-        // @formatter:off
-        //second pass on each line to trim undesirable spaces
-        String trimmed = NEWLINE_PATTERN
-                .splitAsStream(text)
-                .map(line -> line
-                        // we don't want multiple spaces in a row
-                        .replaceAll("\\h\\h+", " ")
-                        //we don't want trailing whitespaces, trim() doesn't work because we do want leading space when relevant
-                        .replaceAll("\\h+$", ""))
-                .collect(Collectors.joining(System.lineSeparator()));
-        // @formatter:on
-        return trimmed;
+        StringBuilder result = buffers.result;
+        result.setLength(0);
+        trimLines(text, result);
+        return result.toString();
+    }
+
+    /**
+     * Second pass on each line to trim undesirable spaces. Multiple horizontal
+     * whitespaces in a row are replaced by a single space, and trailing horizontal
+     * whitespaces are removed. trim() doesn't work because we do want leading space when
+     * relevant. Lines are joined with the line separator of the running OS, and empty
+     * lines at the end are dropped.
+     * @param text text to trim
+     * @param result buffer to append the trimmed lines to
+     */
+    private static void trimLines(CharSequence text, StringBuilder result) {
+        int pendingLineSeparators = 0;
+        int whitespaceCount = 0;
+        char whitespace = ' ';
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isLineSeparator(c)) {
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                // trailing whitespaces are dropped
+                whitespaceCount = 0;
+                pendingLineSeparators++;
+                continue;
+            }
+            // the line is not empty, so the lines before it are kept
+            for (; pendingLineSeparators > 0; pendingLineSeparators--) {
+                result.append(NEWLINE);
+            }
+            if (isHorizontalWhitespace(c)) {
+                whitespace = c;
+                whitespaceCount++;
+                continue;
+            }
+            if (whitespaceCount > 0) {
+                result.append(whitespaceCount == 1 ? whitespace : ' ');
+                whitespaceCount = 0;
+            }
+            result.append(c);
+        }
+    }
+
+    // same as "\R" in regex
+    private static boolean isLineSeparator(char c) {
+        return (c >= '\n' && c <= '\r') || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // same as "\h" in regex
+    private static boolean isHorizontalWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\u00a0' || c == '\u1680' || c == '\u180e'
+                || (c >= '\u2000' && c <= '\u200a') || c == '\u202f' || c == '\u205f' || c == '\u3000';
+    }
+
+    private static final class Buffers {
+
+        private final StringBuilder text = new StringBuilder(256);
+
+        private final StringBuilder result = new StringBuilder(256);
+
     }
 
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import io.micrometer.common.lang.Nullable;
+
+/**
+ * Helpers to encode the extracted entries with {@link DataOutput} and decode them with
+ * {@link DataInput}.
+ */
+public final class DataStreamUtils {
+
+    private DataStreamUtils() {
+    }
+
+    /**
+     * Write a string, which may be {@code null} and longer than
+     * {@link DataOutput#writeUTF(String)} allows.
+     * @param out output
+     * @param value string to write
+     * @throws IOException on write failure
+     */
+    public static void writeString(DataOutput out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a string written by {@link #writeString(DataOutput, String)}.
+     * @param in input
+     * @return read string
+     * @throws IOException on read failure or malformed input
+     */
+    @Nullable
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[checkLength(length)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the size of the collection followed by its elements.
+     * @param out output
+     * @param elements elements to write
+     * @param writer element writer
+     * @param <T> element type
+     * @throws IOException on write failure
+     */
+    public static <T> void writeCollection(DataOutput out, Collection<T> elements, ElementWriter<T> writer)
+            throws IOException {
+        out.writeInt(elements.size());
+        for (T element : elements) {
+            writer.write(out, element);
+        }
+    }
+
+    /**
+     * Read elements written by
+     * {@link #writeCollection(DataOutput, Collection, ElementWriter)}.
+     * @param in input
+     * @param reader element reader
+     * @param <T> element type
+     * @return read elements
+     * @throws IOException on read failure or malformed input
+     */
+    public static <T> ArrayList<T> readList(DataInput in, ElementReader<T> reader) throws IOException {
+        int size = checkLength(in.readInt());
+        // the size is not trusted for the initial capacity
+        ArrayList<T> elements = new ArrayList<>(Math.min(size, 16));
+        for (int i = 0; i < size; i++) {
+            elements.add(reader.read(in));
+        }
+        return elements;
+    }
+
+    /**
+     * Read an enum constant written by its name.
+     * @param in input
+     * @param enumType enum type
+     * @param <E> enum type
+     * @return enum constant
+     * @throws IOException on read failure or unknown constant
+     */
+    public static <E extends Enum<E>> E readEnum(DataInput in, Class<E> enumType) throws IOException {
+        String name = in.readUTF();
+        try {
+            return Enum.valueOf(enumType, name);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new IOException("Unknown " + enumType.getSimpleName() + " [" + name + "]", ex);
+        }
+    }
+
+    private static int checkLength(int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Malformed length [" + length + "]");
+        }
+        return length;
+    }
+
+    /**
+     * Writes an element of a collection.
+     *
+     * @param <T> element type
+     */
+    @FunctionalInterface
+    public interface ElementWriter<T> {
+
+        void write(DataOutput out, T element) throws IOException;
+
+    }
+
+    /**
+     * Reads an element of a list.
+     *
+     * @param <T> element type
+     */
+    @FunctionalInterface
+    public interface ElementReader<T> {
+
+        T read(DataInput in) throws IOException;
+
+    }
+
+}
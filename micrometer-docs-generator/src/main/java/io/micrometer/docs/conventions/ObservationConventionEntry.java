@@ -15,8 +15,13 @@
  */
 package io.micrometer.docs.conventions;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.docs.commons.utils.StringUtils;
 
 class ObservationConventionEntry implements Comparable<ObservationConventionEntry> {
@@ -63,6 +68,17 @@ class ObservationConventionEntry implements Comparable<ObservationConventionEntr
         return compare;
     }
 
+    void write(DataOutput out) throws IOException {
+        DataStreamUtils.writeString(out, this.className);
+        out.writeUTF(this.type.name());
+        DataStreamUtils.writeString(out, this.contextClassName);
+    }
+
+    static ObservationConventionEntry read(DataInput in) throws IOException {
+        return new ObservationConventionEntry(DataStreamUtils.readString(in), DataStreamUtils.readEnum(in, Type.class),
+                DataStreamUtils.readString(in));
+    }
+
     public enum Type {
 
         GLOBAL, LOCAL
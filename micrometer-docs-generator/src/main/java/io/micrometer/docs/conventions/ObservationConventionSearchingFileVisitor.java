@@ -15,63 +15,81 @@
  */
 package io.micrometer.docs.conventions;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.IncrementalJavaSourceVisitor;
+import io.micrometer.docs.commons.JavaSourcePreFilter;
 import io.micrometer.docs.commons.JavaSourceSearchHelper;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.observation.GlobalObservationConvention;
-import org.jboss.forge.roaster.Roaster;
 import org.jboss.forge.roaster.model.source.JavaSource;
 import org.jboss.forge.roaster.model.source.TypeHolderSource;
 
-class ObservationConventionSearchingFileVisitor extends SimpleFileVisitor<Path> {
+class ObservationConventionSearchingFileVisitor
+        implements IncrementalJavaSourceVisitor<List<ObservationConventionEntry>> {
 
     private static final InternalLogger logger = InternalLoggerFactory
         .getInstance(ObservationConventionSearchingFileVisitor.class);
 
-    private final Pattern pattern;
-
     private final Collection<ObservationConventionEntry> observationConventionEntries;
 
     private final JavaSourceSearchHelper searchHelper;
 
-    ObservationConventionSearchingFileVisitor(Pattern pattern,
-            Collection<ObservationConventionEntry> observationConventionEntries, JavaSourceSearchHelper searchHelper) {
-        this.pattern = pattern;
+    ObservationConventionSearchingFileVisitor(Collection<ObservationConventionEntry> observationConventionEntries,
+            JavaSourceSearchHelper searchHelper) {
         this.observationConventionEntries = observationConventionEntries;
         this.searchHelper = searchHelper;
     }
 
     @Override
-    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
-        if (!pattern.matcher(path.toString()).matches()) {
-            return FileVisitResult.CONTINUE;
-        }
-        else if (!path.toString().endsWith(".java")) {
-            return FileVisitResult.CONTINUE;
-        }
+    public String getCacheName() {
+        return "conventions";
+    }
 
-        logger.debug("Parsing [" + path + "]");
-        JavaSource<?> javaSource = Roaster.parse(JavaSource.class, path.toFile());
-        List<JavaSource<?>> candidates = getCandidates(javaSource);
-        if (candidates.isEmpty()) {
-            return FileVisitResult.CONTINUE;
-        }
+    @Override
+    public JavaSourcePreFilter preFilter() {
+        // conventions are only found through the supertypes declared on a class
+        return JavaSourcePreFilter.containingAny("implements", "extends");
+    }
 
+    @Override
+    @Nullable
+    public List<ObservationConventionEntry> extract(JavaSource<?> javaSource) {
+        logger.debug("Checking [" + javaSource.getQualifiedName() + "]");
+        ArrayList<ObservationConventionEntry> extracted = new ArrayList<>();
+        List<JavaSource<?>> candidates = getCandidates(javaSource);
         for (JavaSource<?> candidate : candidates) {
-            process(candidate);
+            ObservationConventionEntry entry = process(candidate);
+            if (entry != null) {
+                extracted.add(entry);
+            }
         }
-        return FileVisitResult.CONTINUE;
+        return extracted.isEmpty() ? null : extracted;
+    }
+
+    @Override
+    public void accept(List<ObservationConventionEntry> extracted) {
+        this.observationConventionEntries.addAll(extracted);
+    }
+
+    @Override
+    public void write(List<ObservationConventionEntry> extracted, DataOutput out) throws IOException {
+        DataStreamUtils.writeCollection(out, extracted, (o, entry) -> entry.write(o));
+    }
+
+    @Override
+    public List<ObservationConventionEntry> read(DataInput in) throws IOException {
+        return DataStreamUtils.readList(in, ObservationConventionEntry::read);
     }
 
     private List<JavaSource<?>> getCandidates(JavaSource<?> javaSource) {
@@ -87,10 +105,11 @@ class ObservationConventionSearchingFileVisitor extends SimpleFileVisitor<Path>
         return candidates;
     }
 
-    private void process(JavaSource<?> javaSource) {
+    @Nullable
+    private ObservationConventionEntry process(JavaSource<?> javaSource) {
         String interfaceName = this.searchHelper.searchObservationConventionInterfaceName(javaSource);
         if (interfaceName == null) {
-            return;
+            return null;
         }
         // the returned interface name is canonical name with generics.
         // e.g. "io.micrometer.observation.ObservationConvention<Observation.Context>"
@@ -100,12 +119,12 @@ class ObservationConventionSearchingFileVisitor extends SimpleFileVisitor<Path>
         String conventionContextName = contextClassName(classPattern, interfaceName);
 
         if (isGlobal) {
-            this.observationConventionEntries.add(new ObservationConventionEntry(canonicalName,
-                    ObservationConventionEntry.Type.GLOBAL, conventionContextName));
+            return new ObservationConventionEntry(canonicalName, ObservationConventionEntry.Type.GLOBAL,
+                    conventionContextName);
         }
         else {
-            this.observationConventionEntries.add(new ObservationConventionEntry(canonicalName,
-                    ObservationConventionEntry.Type.LOCAL, conventionContextName));
+            return new ObservationConventionEntry(canonicalName, ObservationConventionEntry.Type.LOCAL,
+                    conventionContextName);
         }
     }
 
@@ -17,9 +17,8 @@ package io.micrometer.docs.conventions;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitor;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,16 +27,15 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.github.jknack.handlebars.Template;
-import io.micrometer.common.util.internal.logging.InternalLogger;
-import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.DocGenerator;
+import io.micrometer.docs.commons.DocumentWriter;
+import io.micrometer.docs.commons.JavaSourceScanner;
 import io.micrometer.docs.commons.JavaSourceSearchHelper;
+import io.micrometer.docs.commons.JavaSourceVisitor;
 import io.micrometer.docs.commons.templates.HandlebarsUtils;
 import io.micrometer.docs.conventions.ObservationConventionEntry.Type;
 
-public class ObservationConventionsDocGenerator {
-
-    private static final InternalLogger logger = InternalLoggerFactory
-        .getInstance(ObservationConventionsDocGenerator.class);
+public class ObservationConventionsDocGenerator implements DocGenerator {
 
     private final File projectRoot;
 
@@ -47,26 +45,39 @@ public class ObservationConventionsDocGenerator {
 
     private final Path output;
 
+    private final DocumentWriter documentWriter;
+
+    private TreeSet<ObservationConventionEntry> observationConventionEntries = new TreeSet<>();
+
     public ObservationConventionsDocGenerator(File projectRoot, Pattern inclusionPattern, String templateLocation,
             Path output) {
+        this(projectRoot, inclusionPattern, templateLocation, output, new DocumentWriter());
+    }
+
+    public ObservationConventionsDocGenerator(File projectRoot, Pattern inclusionPattern, String templateLocation,
+            Path output, DocumentWriter documentWriter) {
         this.projectRoot = projectRoot;
         this.inclusionPattern = inclusionPattern;
         this.templateLocation = templateLocation;
         this.output = output;
+        this.documentWriter = documentWriter;
     }
 
     public void generate() {
-        Path path = this.projectRoot.toPath();
-        logger.debug("Path is [" + this.projectRoot.getAbsolutePath() + "]. Inclusion pattern is ["
-                + this.inclusionPattern + "]");
-        TreeSet<ObservationConventionEntry> observationConventionEntries = new TreeSet<>();
-        JavaSourceSearchHelper searchHelper = JavaSourceSearchHelper.create(this.projectRoot.toPath(),
-                this.inclusionPattern);
-        FileVisitor<Path> fv = new ObservationConventionSearchingFileVisitor(this.inclusionPattern,
-                observationConventionEntries, searchHelper);
+        JavaSourceScanner.create(this.projectRoot.toPath(), this.inclusionPattern)
+            .generate(Collections.singletonList(this));
+    }
+
+    @Override
+    public JavaSourceVisitor createVisitor(JavaSourceSearchHelper searchHelper) {
+        this.observationConventionEntries = new TreeSet<>();
+        return new ObservationConventionSearchingFileVisitor(this.observationConventionEntries, searchHelper);
+    }
+
+    @Override
+    public void render() {
         try {
-            Files.walkFileTree(path, fv);
-            printObservationConventionsAdoc(observationConventionEntries);
+            printObservationConventionsAdoc(this.observationConventionEntries);
         }
         catch (IOException e) {
             throw new IllegalArgumentException(e);
@@ -86,9 +97,7 @@ public class ObservationConventionsDocGenerator {
         Map<String, Object> map = new HashMap<>();
         map.put("globals", globals);
         map.put("locals", locals);
-        String result = template.apply(map);
-
-        Files.write(this.output, result.getBytes());
+        this.documentWriter.write(template, map, this.output);
     }
 
 }
@@ -15,6 +15,9 @@
  */
 package io.micrometer.docs.metrics;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 
@@ -23,6 +26,7 @@ import io.micrometer.core.instrument.Meter.Type;
 import io.micrometer.docs.commons.EventEntry;
 import io.micrometer.docs.commons.KeyNameEntry;
 import io.micrometer.docs.commons.utils.Assert;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.docs.commons.utils.StringUtils;
 
 class MetricEntry implements Comparable<MetricEntry> {
@@ -117,6 +121,23 @@ class MetricEntry implements Comparable<MetricEntry> {
             .anyMatch(info -> Type.TIMER.equals(info.getType()) || Type.LONG_TASK_TIMER.equals(info.getType()));
     }
 
+    void write(DataOutput out) throws IOException {
+        DataStreamUtils.writeString(out, this.enclosingClass);
+        DataStreamUtils.writeString(out, this.enumName);
+        DataStreamUtils.writeString(out, this.description);
+        DataStreamUtils.writeString(out, this.prefix);
+        DataStreamUtils.writeCollection(out, this.lowCardinalityKeyNames, (o, keyName) -> keyName.write(o));
+        DataStreamUtils.writeCollection(out, this.events, (o, event) -> event.write(o));
+        DataStreamUtils.writeCollection(out, this.metricInfos, (o, metricInfo) -> metricInfo.write(o));
+    }
+
+    static MetricEntry read(DataInput in) throws IOException {
+        return new MetricEntry(DataStreamUtils.readString(in), DataStreamUtils.readString(in),
+                DataStreamUtils.readString(in), DataStreamUtils.readString(in),
+                DataStreamUtils.readList(in, KeyNameEntry::read), DataStreamUtils.readList(in, EventEntry::read),
+                DataStreamUtils.readList(in, MetricInfo::read));
+    }
+
     public static class MetricInfo {
 
         final String name;
@@ -163,6 +184,18 @@ class MetricEntry implements Comparable<MetricEntry> {
             return sb.toString();
         }
 
+        void write(DataOutput out) throws IOException {
+            DataStreamUtils.writeString(out, this.name);
+            DataStreamUtils.writeString(out, this.nameOrigin);
+            out.writeUTF(this.type.name());
+            DataStreamUtils.writeString(out, this.baseUnit);
+        }
+
+        static MetricInfo read(DataInput in) throws IOException {
+            return new MetricInfo(DataStreamUtils.readString(in), DataStreamUtils.readString(in),
+                    DataStreamUtils.readEnum(in, Type.class), DataStreamUtils.readString(in));
+        }
+
     }
 
 }
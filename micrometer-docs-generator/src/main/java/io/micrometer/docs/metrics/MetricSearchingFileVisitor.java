@@ -15,17 +15,17 @@
  */
 package io.micrometer.docs.metrics;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.core.instrument.Meter;
@@ -34,12 +34,14 @@ import io.micrometer.core.instrument.docs.MeterDocumentation;
 import io.micrometer.docs.commons.AbstractSearchingFileVisitor;
 import io.micrometer.docs.commons.EventEntry;
 import io.micrometer.docs.commons.EventEntryForMetricEnumConstantReader;
+import io.micrometer.docs.commons.IncrementalJavaSourceVisitor;
 import io.micrometer.docs.commons.JavaSourceSearchHelper;
 import io.micrometer.docs.commons.KeyNameEntry;
 import io.micrometer.docs.commons.KeyNameEnumConstantReader;
 import io.micrometer.docs.commons.ParsingUtils;
 import io.micrometer.docs.commons.utils.AsciidocUtils;
 import io.micrometer.docs.commons.utils.Assert;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.docs.commons.utils.StringUtils;
 import io.micrometer.docs.metrics.MetricEntry.MetricInfo;
 import io.micrometer.observation.docs.ObservationDocumentation;
@@ -50,14 +52,18 @@ import org.jboss.forge.roaster.model.source.JavaEnumSource;
 import org.jboss.forge.roaster.model.source.JavaSource;
 import org.jboss.forge.roaster.model.source.MethodSource;
 
-class MetricSearchingFileVisitor extends AbstractSearchingFileVisitor {
+class MetricSearchingFileVisitor extends AbstractSearchingFileVisitor
+        implements IncrementalJavaSourceVisitor<List<MetricEntry>> {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(MetricSearchingFileVisitor.class);
 
     private final Collection<MetricEntry> entries;
 
-    MetricSearchingFileVisitor(Pattern pattern, Collection<MetricEntry> entries, JavaSourceSearchHelper searchHelper) {
-        super(pattern, searchHelper);
+    // entries of the java file being extracted
+    private ArrayList<MetricEntry> extracted = new ArrayList<>();
+
+    MetricSearchingFileVisitor(Collection<MetricEntry> entries, JavaSourceSearchHelper searchHelper) {
+        super(searchHelper);
         this.entries = entries;
     }
 
@@ -66,20 +72,52 @@ class MetricSearchingFileVisitor extends AbstractSearchingFileVisitor {
         return Arrays.asList(MeterDocumentation.class, ObservationDocumentation.class);
     }
 
+    @Override
+    public String getCacheName() {
+        return "metrics";
+    }
+
+    @Override
+    public void visit(JavaSource<?> javaSource) {
+        IncrementalJavaSourceVisitor.super.visit(javaSource);
+    }
+
+    @Override
+    @Nullable
+    public List<MetricEntry> extract(JavaSource<?> javaSource) {
+        this.extracted = new ArrayList<>();
+        processEnum(javaSource);
+        return this.extracted.isEmpty() ? null : this.extracted;
+    }
+
+    @Override
+    public void accept(List<MetricEntry> extracted) {
+        this.entries.addAll(extracted);
+    }
+
+    @Override
+    public void write(List<MetricEntry> extracted, DataOutput out) throws IOException {
+        DataStreamUtils.writeCollection(out, extracted, (o, entry) -> entry.write(o));
+    }
+
+    @Override
+    public List<MetricEntry> read(DataInput in) throws IOException {
+        return DataStreamUtils.readList(in, MetricEntry::read);
+    }
+
     @Override
     public void onEnumConstant(JavaEnumSource enclosingEnumSource, EnumConstantSource enumConstant) {
         MetricEntry entry = parseMetric(enumConstant, enclosingEnumSource);
-        entries.add(entry);
+        this.extracted.add(entry);
         logger.debug("Found [" + entry.lowCardinalityKeyNames.size() + "]");
     }
 
     @Override
-    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-        validatePrefixOnTags();
-        return FileVisitResult.CONTINUE;
+    public List<String> validate() {
+        return validatePrefixOnTags();
     }
 
-    private void validatePrefixOnTags() {
+    private List<String> validatePrefixOnTags() {
         List<String> messages = new ArrayList<>();
         for (MetricEntry metricEntry : this.entries) {
             String prefix = metricEntry.getPrefix();
@@ -93,14 +131,7 @@ class MetricSearchingFileVisitor extends AbstractSearchingFileVisitor {
 
             messages.addAll(validatePrefixOnTags(prefix, allTags, enumName, enclosingClassName));
         }
-        if (!messages.isEmpty()) {
-            StringBuilder sb = new StringBuilder(
-                    "The following documented objects do not have properly prefixed tag keys according to their prefix() method. Please align the tag keys.");
-            sb.append(System.lineSeparator()).append(System.lineSeparator());
-            sb.append(messages.stream().collect(Collectors.joining(System.lineSeparator())));
-            sb.append(System.lineSeparator()).append(System.lineSeparator());
-            throw new IllegalStateException(sb.toString());
-        }
+        return prefixValidationReport(messages);
     }
 
     private MetricEntry parseMetric(EnumConstantSource enumConstant, JavaEnumSource myEnum) {
@@ -170,7 +201,13 @@ class MetricSearchingFileVisitor extends AbstractSearchingFileVisitor {
 
         String name = nameInfo.getName();
         String nameOrigin = nameInfo.getNameOrigin();
-        events.forEach(event -> event.setName(name + "." + event.getName()));
+        // events are shared with other documented objects, rename copies of them
+        events = events.stream().map(event -> {
+            EventEntry renamed = new EventEntry();
+            renamed.setName(name + "." + event.getName());
+            renamed.setDescription(event.getDescription());
+            return renamed;
+        }).collect(Collectors.toList());
 
         // @formatter:off
         // if entry has overridesDefaultSpanFrom - read tags from that thing
@@ -17,24 +17,23 @@ package io.micrometer.docs.metrics;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitor;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
 
 import com.github.jknack.handlebars.Template;
-import io.micrometer.common.util.internal.logging.InternalLogger;
-import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.DocGenerator;
+import io.micrometer.docs.commons.DocumentWriter;
+import io.micrometer.docs.commons.JavaSourceScanner;
 import io.micrometer.docs.commons.JavaSourceSearchHelper;
+import io.micrometer.docs.commons.JavaSourceVisitor;
 import io.micrometer.docs.commons.templates.HandlebarsUtils;
 
-public class MetricsDocGenerator {
-
-    private static final InternalLogger logger = InternalLoggerFactory.getInstance(MetricsDocGenerator.class);
+public class MetricsDocGenerator implements DocGenerator {
 
     private final File projectRoot;
 
@@ -44,26 +43,38 @@ public class MetricsDocGenerator {
 
     private final Path output;
 
+    private final DocumentWriter documentWriter;
+
+    private Collection<MetricEntry> entries = new TreeSet<>();
+
     public MetricsDocGenerator(File projectRoot, Pattern inclusionPattern, String templateLocation, Path output) {
+        this(projectRoot, inclusionPattern, templateLocation, output, new DocumentWriter());
+    }
+
+    public MetricsDocGenerator(File projectRoot, Pattern inclusionPattern, String templateLocation, Path output,
+            DocumentWriter documentWriter) {
         this.projectRoot = projectRoot;
         this.inclusionPattern = inclusionPattern;
         this.templateLocation = templateLocation;
         this.output = output;
+        this.documentWriter = documentWriter;
     }
 
     public void generate() {
-        Path path = this.projectRoot.toPath();
-        logger.debug("Path is [" + this.projectRoot.getAbsolutePath() + "]. Inclusion pattern is ["
-                + this.inclusionPattern + "]");
+        JavaSourceScanner.create(this.projectRoot.toPath(), this.inclusionPattern)
+            .generate(Collections.singletonList(this));
+    }
 
-        JavaSourceSearchHelper searchHelper = JavaSourceSearchHelper.create(this.projectRoot.toPath(),
-                this.inclusionPattern);
+    @Override
+    public JavaSourceVisitor createVisitor(JavaSourceSearchHelper searchHelper) {
+        this.entries = new TreeSet<>();
+        return new MetricSearchingFileVisitor(this.entries, searchHelper);
+    }
 
-        Collection<MetricEntry> entries = new TreeSet<>();
-        FileVisitor<Path> fv = new MetricSearchingFileVisitor(this.inclusionPattern, entries, searchHelper);
+    @Override
+    public void render() {
         try {
-            Files.walkFileTree(path, fv);
-            printMetricsAdoc(entries);
+            printMetricsAdoc(this.entries);
         }
         catch (IOException e) {
             throw new IllegalArgumentException(e);
@@ -75,9 +86,7 @@ public class MetricsDocGenerator {
 
         Map<String, Object> map = new HashMap<>();
         map.put("entries", entries);
-        String result = template.apply(map);
-
-        Files.write(this.output, result.getBytes());
+        this.documentWriter.write(template, map, this.output);
     }
 
 }
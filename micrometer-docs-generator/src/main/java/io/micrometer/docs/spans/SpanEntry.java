@@ -15,6 +15,9 @@
  */
 package io.micrometer.docs.spans;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -24,6 +27,7 @@ import java.util.stream.Collectors;
 import io.micrometer.docs.commons.EventEntry;
 import io.micrometer.docs.commons.KeyNameEntry;
 import io.micrometer.docs.commons.utils.Assert;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.docs.commons.utils.StringUtils;
 
 class SpanEntry implements Comparable<SpanEntry> {
@@ -146,4 +150,22 @@ class SpanEntry implements Comparable<SpanEntry> {
         return this.events;
     }
 
+    void write(DataOutput out) throws IOException {
+        DataStreamUtils.writeString(out, this.name);
+        DataStreamUtils.writeString(out, this.nameOrigin);
+        DataStreamUtils.writeString(out, this.enclosingClass);
+        DataStreamUtils.writeString(out, this.enumName);
+        DataStreamUtils.writeString(out, this.description);
+        DataStreamUtils.writeString(out, this.prefix);
+        DataStreamUtils.writeCollection(out, this.tagKeys, (o, tagKey) -> tagKey.write(o));
+        DataStreamUtils.writeCollection(out, this.events, (o, event) -> event.write(o));
+    }
+
+    static SpanEntry read(DataInput in) throws IOException {
+        return new SpanEntry(DataStreamUtils.readString(in), DataStreamUtils.readString(in),
+                DataStreamUtils.readString(in), DataStreamUtils.readString(in), DataStreamUtils.readString(in),
+                DataStreamUtils.readString(in), DataStreamUtils.readList(in, KeyNameEntry::read),
+                DataStreamUtils.readList(in, EventEntry::read));
+    }
+
 }
@@ -15,9 +15,9 @@
  */
 package io.micrometer.docs.spans;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -25,21 +25,23 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.docs.commons.AbstractSearchingFileVisitor;
 import io.micrometer.docs.commons.EventEntry;
 import io.micrometer.docs.commons.EventEntryForSpanEnumConstantReader;
 import io.micrometer.docs.commons.EventValueEntryEnumConstantReader;
+import io.micrometer.docs.commons.IncrementalJavaSourceVisitor;
 import io.micrometer.docs.commons.JavaSourceSearchHelper;
 import io.micrometer.docs.commons.KeyNameEntry;
 import io.micrometer.docs.commons.KeyNameEnumConstantReader;
 import io.micrometer.docs.commons.ParsingUtils;
 import io.micrometer.docs.commons.utils.AsciidocUtils;
 import io.micrometer.docs.commons.utils.Assert;
+import io.micrometer.docs.commons.utils.DataStreamUtils;
 import io.micrometer.docs.commons.utils.StringUtils;
 import io.micrometer.observation.docs.ObservationDocumentation;
 import io.micrometer.tracing.docs.SpanDocumentation;
@@ -50,7 +52,8 @@ import org.jboss.forge.roaster.model.source.JavaEnumSource;
 import org.jboss.forge.roaster.model.source.JavaSource;
 import org.jboss.forge.roaster.model.source.MethodSource;
 
-class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
+class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor
+        implements IncrementalJavaSourceVisitor<SpanSearchingFileVisitor.SpanExtraction> {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(SpanSearchingFileVisitor.class);
 
@@ -61,8 +64,11 @@ class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
      */
     private final Set<String> overrideEnumClassNames = new HashSet<>();
 
-    SpanSearchingFileVisitor(Pattern pattern, Collection<SpanEntry> spanEntries, JavaSourceSearchHelper searchHelper) {
-        super(pattern, searchHelper);
+    // entries of the java file being extracted
+    private SpanExtraction extraction = new SpanExtraction();
+
+    SpanSearchingFileVisitor(Collection<SpanEntry> spanEntries, JavaSourceSearchHelper searchHelper) {
+        super(searchHelper);
         this.spanEntries = spanEntries;
     }
 
@@ -71,18 +77,59 @@ class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
         return Arrays.asList(SpanDocumentation.class, ObservationDocumentation.class);
     }
 
+    @Override
+    public String getCacheName() {
+        return "spans";
+    }
+
+    @Override
+    public void visit(JavaSource<?> javaSource) {
+        IncrementalJavaSourceVisitor.super.visit(javaSource);
+    }
+
+    @Override
+    @Nullable
+    public SpanExtraction extract(JavaSource<?> javaSource) {
+        this.extraction = new SpanExtraction();
+        processEnum(javaSource);
+        return this.extraction.entries.isEmpty() ? null : this.extraction;
+    }
+
+    @Override
+    public void accept(SpanExtraction extracted) {
+        this.spanEntries.addAll(extracted.entries);
+        this.overrideEnumClassNames.addAll(extracted.overrideEnumClassNames);
+    }
+
+    @Override
+    public void write(SpanExtraction extracted, DataOutput out) throws IOException {
+        DataStreamUtils.writeCollection(out, extracted.entries, (o, entry) -> entry.write(o));
+        DataStreamUtils.writeCollection(out, extracted.overrideEnumClassNames, DataOutput::writeUTF);
+    }
+
+    @Override
+    public SpanExtraction read(DataInput in) throws IOException {
+        SpanExtraction extraction = new SpanExtraction();
+        extraction.entries.addAll(DataStreamUtils.readList(in, SpanEntry::read));
+        extraction.overrideEnumClassNames.addAll(DataStreamUtils.readList(in, DataInput::readUTF));
+        return extraction;
+    }
+
     @Override
     public void onEnumConstant(JavaEnumSource enclosingEnumSource, EnumConstantSource enumConstant) {
         SpanEntry entry = parseSpan(enumConstant, enclosingEnumSource);
-        spanEntries.add(entry);
+        this.extraction.entries.add(entry);
         logger.debug("Found [" + entry.tagKeys.size() + "] tags and [" + entry.events.size() + "] events");
     }
 
     @Override
-    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+    public void complete() {
         removeOverrideEntries();
-        validatePrefixOnTags();
-        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public List<String> validate() {
+        return validatePrefixOnTags();
     }
 
     private void removeOverrideEntries() {
@@ -97,7 +144,7 @@ class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
         this.spanEntries.removeAll(toRemove);
     }
 
-    private void validatePrefixOnTags() {
+    private List<String> validatePrefixOnTags() {
         List<String> messages = new ArrayList<>();
         for (SpanEntry spanEntry : this.spanEntries) {
             String prefix = spanEntry.getPrefix();
@@ -108,14 +155,7 @@ class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
             String enclosingClassName = spanEntry.getEnclosingClass();
             messages.addAll(validatePrefixOnTags(prefix, spanEntry.getTagKeys(), enumName, enclosingClassName));
         }
-        if (!messages.isEmpty()) {
-            StringBuilder sb = new StringBuilder(
-                    "The following documented objects do not have properly prefixed tag keys according to their prefix() method. Please align the tag keys.");
-            sb.append(System.lineSeparator()).append(System.lineSeparator());
-            sb.append(messages.stream().collect(Collectors.joining(System.lineSeparator())));
-            sb.append(System.lineSeparator()).append(System.lineSeparator());
-            throw new IllegalStateException(sb.toString());
-        }
+        return prefixValidationReport(messages);
     }
 
     private SpanEntry parseSpan(EnumConstantSource enumConstant, JavaEnumSource myEnum) {
@@ -183,7 +223,7 @@ class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
             Assert.notNull(expression, "Failed to parse the expression from " + methodSource);
             overridesDefaultSpanFrom = this.searchHelper.searchReferencingEnumConstant(myEnum, expression);
             if (overridesDefaultSpanFrom != null) {
-                overrideEnumClassNames.add(overridesDefaultSpanFrom.getOrigin().getQualifiedName());
+                this.extraction.overrideEnumClassNames.add(overridesDefaultSpanFrom.getOrigin().getQualifiedName());
             }
         }
 
@@ -279,4 +319,12 @@ class SpanSearchingFileVisitor extends AbstractSearchingFileVisitor {
         return new NameInfo(name, conventionClassSource.getQualifiedName());
     }
 
+    static class SpanExtraction {
+
+        final List<SpanEntry> entries = new ArrayList<>();
+
+        final Set<String> overrideEnumClassNames = new HashSet<>();
+
+    }
+
 }
@@ -17,24 +17,23 @@ package io.micrometer.docs.spans;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitor;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
 
 import com.github.jknack.handlebars.Template;
-import io.micrometer.common.util.internal.logging.InternalLogger;
-import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.docs.commons.DocGenerator;
+import io.micrometer.docs.commons.DocumentWriter;
+import io.micrometer.docs.commons.JavaSourceScanner;
 import io.micrometer.docs.commons.JavaSourceSearchHelper;
+import io.micrometer.docs.commons.JavaSourceVisitor;
 import io.micrometer.docs.commons.templates.HandlebarsUtils;
 
-public class SpansDocGenerator {
-
-    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SpansDocGenerator.class);
+public class SpansDocGenerator implements DocGenerator {
 
     private final File projectRoot;
 
@@ -44,25 +43,38 @@ public class SpansDocGenerator {
 
     private final Path output;
 
+    private final DocumentWriter documentWriter;
+
+    private Collection<SpanEntry> spanEntries = new TreeSet<>();
+
     public SpansDocGenerator(File projectRoot, Pattern inclusionPattern, String templateLocation, Path output) {
+        this(projectRoot, inclusionPattern, templateLocation, output, new DocumentWriter());
+    }
+
+    public SpansDocGenerator(File projectRoot, Pattern inclusionPattern, String templateLocation, Path output,
+            DocumentWriter documentWriter) {
         this.projectRoot = projectRoot;
         this.inclusionPattern = inclusionPattern;
         this.templateLocation = templateLocation;
         this.output = output;
+        this.documentWriter = documentWriter;
     }
 
     public void generate() {
-        Path path = this.projectRoot.toPath();
-        logger.debug("Path is [" + this.projectRoot.getAbsolutePath() + "]. Inclusion pattern is ["
-                + this.inclusionPattern + "]");
+        JavaSourceScanner.create(this.projectRoot.toPath(), this.inclusionPattern)
+            .generate(Collections.singletonList(this));
+    }
 
-        JavaSourceSearchHelper searchHelper = JavaSourceSearchHelper.create(path, this.inclusionPattern);
+    @Override
+    public JavaSourceVisitor createVisitor(JavaSourceSearchHelper searchHelper) {
+        this.spanEntries = new TreeSet<>();
+        return new SpanSearchingFileVisitor(this.spanEntries, searchHelper);
+    }
 
-        Collection<SpanEntry> spanEntries = new TreeSet<>();
-        FileVisitor<Path> fv = new SpanSearchingFileVisitor(this.inclusionPattern, spanEntries, searchHelper);
+    @Override
+    public void render() {
         try {
-            Files.walkFileTree(path, fv);
-            printSpansAdoc(spanEntries);
+            printSpansAdoc(this.spanEntries);
         }
         catch (IOException e) {
             throw new IllegalArgumentException(e);
@@ -74,9 +86,7 @@ public class SpansDocGenerator {
 
         Map<String, Object> map = new HashMap<>();
         map.put("entries", spanEntries);
-        String result = template.apply(map);
-
-        Files.write(this.output, result.getBytes());
+        this.documentWriter.write(template, map, this.output);
     }
 
 }
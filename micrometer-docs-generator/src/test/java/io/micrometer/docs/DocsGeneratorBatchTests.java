@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine.ParameterException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link DocsGeneratorBatch}.
+ */
+class DocsGeneratorBatchTests {
+
+    private static final String SPANS = "src/test/java/io/micrometer/docs/spans/test1";
+
+    private static final String METRICS = "src/test/java/io/micrometer/docs/metrics/test1";
+
+    @Test
+    void tokenize() {
+        assertThat(DocsGeneratorBatch.tokenize("  foo \".*\"\t\"bar baz\" --spans-output=\"a b.adoc\" \"\""))
+            .containsExactly("foo", ".*", "bar baz", "--spans-output=a b.adoc", "");
+        assertThatIllegalArgumentException().isThrownBy(() -> DocsGeneratorBatch.tokenize("foo \".*"));
+    }
+
+    @Test
+    void run(@TempDir Path dir) throws IOException {
+        Path manifest = writeManifest(dir, "# spans and metrics of the same project share a scan", "",
+                SPANS + " \".*\" \"" + dir.resolve("spans") + "\" --spans",
+                SPANS + " \".*\" \"" + dir.resolve("metrics") + "\" --metrics",
+                METRICS + " \".*\" \"" + dir.resolve("other") + "\" --metrics");
+
+        List<DocsGeneratorCommand> commands = DocsGeneratorBatch.readManifest(manifest);
+        Map<List<Object>, List<DocsGeneratorCommand>> groups = DocsGeneratorBatch.group(commands);
+        assertThat(commands).hasSize(3);
+        assertThat(groups.values()).extracting(List::size).containsExactly(2, 1);
+
+        new DocsGeneratorBatch(manifest, 2).run();
+
+        assertThat(dir.resolve("spans/_spans.adoc")).exists();
+        assertThat(dir.resolve("spans/_metrics.adoc")).doesNotExist();
+        assertThat(dir.resolve("metrics/_metrics.adoc")).exists();
+        assertThat(dir.resolve("metrics/_spans.adoc")).doesNotExist();
+        assertThat(dir.resolve("other/_metrics.adoc")).exists();
+    }
+
+    @Test
+    void invalidManifest(@TempDir Path dir) throws IOException {
+        Path missingArguments = writeManifest(dir, SPANS + " \".*\"");
+        assertThatIllegalArgumentException().isThrownBy(() -> DocsGeneratorBatch.readManifest(missingArguments))
+            .withMessageContaining("line 1");
+
+        Path nested = writeManifest(dir, "# nested", "--batch=other.txt");
+        assertThatIllegalArgumentException().isThrownBy(() -> DocsGeneratorBatch.readManifest(nested))
+            .withMessageContaining("line 2");
+
+        Path watch = writeManifest(dir, SPANS + " \".*\" out --watch");
+        assertThatIllegalArgumentException().isThrownBy(() -> DocsGeneratorBatch.readManifest(watch))
+            .withMessageContaining("--watch");
+
+        Path sharedCacheDir = writeManifest(dir, SPANS + " \".*\" out --cache-dir=cache",
+                METRICS + " \".*\" out --cache-dir=cache");
+        List<DocsGeneratorCommand> commands = DocsGeneratorBatch.readManifest(sharedCacheDir);
+        assertThatIllegalArgumentException().isThrownBy(() -> DocsGeneratorBatch.group(commands))
+            .withMessageContaining("shared by projects with different scan settings");
+    }
+
+    @Test
+    void batchCommand(@TempDir Path dir) throws IOException {
+        Path manifest = writeManifest(dir, SPANS + " \".*\" \"" + dir.resolve("spans") + "\" --spans");
+
+        DocsGeneratorCommand.main("--batch", manifest.toString(), "--batch-threads=1");
+
+        assertThat(dir.resolve("spans/_spans.adoc")).exists();
+    }
+
+    @Test
+    void batchCommandWithProjectOptions(@TempDir Path dir) throws IOException {
+        Path manifest = writeManifest(dir, SPANS + " \".*\" \"" + dir.resolve("spans") + "\"");
+
+        assertThatExceptionOfType(ParameterException.class)
+            .isThrownBy(() -> DocsGeneratorCommand.main("--batch", manifest.toString(), "--spans", "--parallelism=2",
+                    "--cache-dir", dir.resolve("cache").toString(), "--spans-output=spans.adoc"))
+            .withMessageStartingWith("--spans, --parallelism, --cache-dir, --spans-output cannot be used with --batch");
+        assertThatExceptionOfType(ParameterException.class)
+            .isThrownBy(() -> DocsGeneratorCommand.main("--batch", manifest.toString(), "--watch"))
+            .withMessageStartingWith("--watch cannot be used with --batch");
+        assertThat(dir.resolve("spans")).doesNotExist();
+    }
+
+    private static Path writeManifest(Path dir, String... lines) throws IOException {
+        Path manifest = dir.resolve("manifest.txt");
+        Files.write(manifest, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return manifest;
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DocsGeneratorServer}.
+ */
+class DocsGeneratorServerTests {
+
+    private static final String SPANS = "src/test/java/io/micrometer/docs/spans/test1";
+
+    private DocsGeneratorServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        this.server = new DocsGeneratorServer(0, Collections.emptyList());
+        this.server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        this.server.stop();
+    }
+
+    @Test
+    void generate(@TempDir Path dir) throws IOException {
+        String request = SPANS + " \".*\" \"" + dir.resolve("spans") + "\" --spans\n" + SPANS + " \".*\" \""
+                + dir.resolve("metrics") + "\" --metrics --write-if-changed\n";
+
+        Response first = post(request, this.server.getToken());
+        assertThat(first.status).isEqualTo(200);
+        assertThat(first.body).startsWith("Generated 2 projects").contains("_metrics.adoc");
+        assertThat(dir.resolve("spans/_spans.adoc")).exists();
+        assertThat(dir.resolve("metrics/_metrics.adoc")).exists();
+
+        // nothing changed since the previous request
+        Response second = post(request, this.server.getToken());
+        assertThat(second.status).isEqualTo(200);
+        assertThat(second.body).doesNotContain("_metrics.adoc");
+    }
+
+    @Test
+    void invalidRequest() throws IOException {
+        assertThat(post(SPANS + " \".*\"", this.server.getToken()).status).isEqualTo(400);
+        assertThat(post("", this.server.getToken()).status).isEqualTo(400);
+
+        HttpURLConnection connection = open(this.server);
+        connection.setRequestProperty("Authorization", "Bearer " + this.server.getToken());
+        assertThat(read(connection).status).isEqualTo(405);
+    }
+
+    @Test
+    void invalidScanSettings(@TempDir Path dir) throws IOException {
+        String request = SPANS + " \".*\" \"" + dir.resolve("spans") + "\" --cache-dir=cache\n" + SPANS + " \".*\" \""
+                + dir.resolve("metrics") + "\" --cache-dir=cache --exclude=foo\n";
+        Response response = post(request, this.server.getToken());
+        assertThat(response.status).isEqualTo(400);
+        assertThat(response.body).contains("shared by projects with different scan settings");
+    }
+
+    @Test
+    void generationFailure(@TempDir Path dir) throws IOException {
+        String request = SPANS + " \".*\" \"" + dir + "\" --spans --spans-template=missing.hbs";
+        assertThat(post(request, this.server.getToken()).status).isEqualTo(500);
+    }
+
+    @Test
+    void unauthorized(@TempDir Path dir) throws IOException {
+        String request = SPANS + " \".*\" \"" + dir + "\"";
+        assertThat(post(request, null).status).isEqualTo(401);
+        assertThat(post(request, "wrong").status).isEqualTo(401);
+        assertThat(dir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void rejectWebPages() throws IOException {
+        String authorization = "Authorization: Bearer " + this.server.getToken();
+        assertThat(rawPost("Host: 127.0.0.1", authorization)).isEqualTo(400);
+        assertThat(rawPost("Host: 127.0.0.1", authorization, "Origin: https://example.com")).isEqualTo(403);
+        assertThat(rawPost("Host: example.com", authorization)).isEqualTo(403);
+        assertThat(rawPost(authorization)).isEqualTo(403);
+    }
+
+    @Test
+    void isLoopbackHost() {
+        assertThat(DocsGeneratorServer.isLoopbackHost("127.0.0.1:9099")).isTrue();
+        assertThat(DocsGeneratorServer.isLoopbackHost("localhost")).isTrue();
+        assertThat(DocsGeneratorServer.isLoopbackHost("[::1]:9099")).isTrue();
+        assertThat(DocsGeneratorServer.isLoopbackHost("example.com:9099")).isFalse();
+        assertThat(DocsGeneratorServer.isLoopbackHost("127.0.0.1.example.com")).isFalse();
+        assertThat(DocsGeneratorServer.isLoopbackHost(null)).isFalse();
+    }
+
+    @Test
+    void allowedOutputDirectories(@TempDir Path dir) throws IOException {
+        DocsGeneratorServer restricted = new DocsGeneratorServer(0, Collections.singletonList(dir.resolve("allowed")));
+        restricted.start();
+        try {
+            String allowed = SPANS + " \".*\" \"" + dir.resolve("allowed") + "\" --spans";
+            assertThat(post(restricted, allowed, restricted.getToken()).status).isEqualTo(200);
+
+            String outside = SPANS + " \".*\" \"" + dir.resolve("other") + "\" --spans";
+            assertThat(post(restricted, outside, restricted.getToken()).status).isEqualTo(400);
+            String absoluteOutput = allowed + " --spans-output=\"" + dir.resolve("other/_spans.adoc") + "\"";
+            assertThat(post(restricted, absoluteOutput, restricted.getToken()).status).isEqualTo(400);
+            assertThat(dir.resolve("other")).doesNotExist();
+        }
+        finally {
+            restricted.stop();
+        }
+    }
+
+    private static HttpURLConnection open(DocsGeneratorServer server) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getPort() + DocsGeneratorServer.GENERATE_PATH);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private Response post(String request, String token) throws IOException {
+        return post(this.server, request, token);
+    }
+
+    private static Response post(DocsGeneratorServer server, String request, String token) throws IOException {
+        HttpURLConnection connection = open(server);
+        connection.setRequestMethod("POST");
+        if (token != null) {
+            connection.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(request.getBytes(StandardCharsets.UTF_8));
+        }
+        return read(connection);
+    }
+
+    private static Response read(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        InputStream in = (status < 400) ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        in.close();
+        return new Response(status, new String(body.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Send an empty request with the given headers, which cannot all be set with
+     * {@link HttpURLConnection}.
+     * @param headers request headers
+     * @return response status
+     */
+    private int rawPost(String... headers) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.server.getPort())) {
+            StringBuilder request = new StringBuilder("POST " + DocsGeneratorServer.GENERATE_PATH + " HTTP/1.0\r\n");
+            for (String header : headers) {
+                request.append(header).append("\r\n");
+            }
+            request.append("Content-Length: 0\r\n\r\n");
+            socket.getOutputStream().write(request.toString().getBytes(StandardCharsets.US_ASCII));
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            return Integer.parseInt(reader.readLine().split(" ")[1]);
+        }
+    }
+
+    private static class Response {
+
+        private final int status;
+
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+    }
+
+}
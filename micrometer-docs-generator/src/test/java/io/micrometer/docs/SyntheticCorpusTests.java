@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import io.micrometer.docs.conventions.ObservationConventionsDocGenerator;
+import io.micrometer.docs.metrics.MetricsDocGenerator;
+import io.micrometer.docs.spans.SpansDocGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SyntheticCorpus}.
+ */
+class SyntheticCorpusTests {
+
+    @Test
+    void deterministic(@TempDir Path dir) throws IOException {
+        SyntheticCorpus corpus = SyntheticCorpus.builder().modules(3).wildcardImportRatio(0.5).seed(7).build();
+        List<Path> first = corpus.write(dir.resolve("first"));
+        List<Path> second = corpus.write(dir.resolve("second"));
+
+        // common: 5 key names, module: 2 conventions + 7 default conventions + 10 enums +
+        // 10 plain
+        assertThat(first).hasSize(5 + 3 * (2 + 7 + 10 + 10)).hasSameSizeAs(second);
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(dir.resolve("first").relativize(first.get(i)))
+                .isEqualTo(dir.resolve("second").relativize(second.get(i)));
+            assertThat(first.get(i)).hasSameBinaryContentAs(second.get(i));
+        }
+    }
+
+    @Test
+    void generate(@TempDir Path dir) throws IOException {
+        Path root = dir.resolve("project");
+        SyntheticCorpus.builder()
+            .modules(2)
+            .documentationEnums(3)
+            .conventionDepth(3)
+            .wildcardImportRatio(0.5)
+            .staticImportRatio(0.5)
+            .build()
+            .write(root);
+
+        Path metrics = dir.resolve("_metrics.adoc");
+        new MetricsDocGenerator(root.toFile(), Pattern.compile(".*"), "templates/metrics.adoc.hbs", metrics).generate();
+        Path spans = dir.resolve("_spans.adoc");
+        new SpansDocGenerator(root.toFile(), Pattern.compile(".*"), "templates/spans.adoc.hbs", spans).generate();
+        Path conventions = dir.resolve("_conventions.adoc");
+        new ObservationConventionsDocGenerator(root.toFile(), Pattern.compile(".*"), "templates/conventions.adoc.hbs",
+                conventions)
+            .generate();
+
+        // names come from the default conventions at the bottom of the hierarchy
+        assertThat(new String(Files.readAllBytes(metrics))).contains("module0.enum0", "module1.enum1")
+            .contains("module0.enum2.c0", "module1.enum2.c2")
+            .contains("module1.enum0.low.key1", "shared");
+        assertThat(new String(Files.readAllBytes(spans))).contains("module0.enum0", "module1.enum1")
+            .contains("module1.enum1.high.key0")
+            .doesNotContain("module0.enum2");
+        assertThat(new String(Files.readAllBytes(conventions))).contains("DefaultModule0Observation0Convention",
+                "DefaultModule1Observation1Convention");
+    }
+
+    @Test
+    void invalidSettings() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SyntheticCorpus.builder().modules(-1));
+        assertThatIllegalArgumentException().isThrownBy(() -> SyntheticCorpus.builder().wildcardImportRatio(1.5));
+    }
+
+}
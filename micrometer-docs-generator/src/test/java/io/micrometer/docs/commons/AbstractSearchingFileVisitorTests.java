@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.docs.MeterDocumentation;
+import org.jboss.forge.roaster.model.source.EnumConstantSource;
+import org.jboss.forge.roaster.model.source.JavaEnumSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AbstractSearchingFileVisitor}.
+ */
+class AbstractSearchingFileVisitorTests {
+
+    private static final Path PATH = Paths.get("src/test/java/io/micrometer/docs/metrics/usecases/sanitizing");
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void walkFileTree() throws IOException {
+        JavaSourceSearchHelper searchHelper = JavaSourceSearchHelper.create(PATH, Pattern.compile(".*"));
+        RecordingVisitor visitor = new RecordingVisitor(Pattern.compile(".*Meter\\.java"), searchHelper);
+        Files.walkFileTree(PATH, visitor);
+        assertThat(visitor.enumConstants).containsExactly("HTML", "TAGLETS", "INLINE_HTML_TAGS", "WITH_TAGS");
+
+        RecordingVisitor excluding = new RecordingVisitor(Pattern.compile(".*Test\\.java"), searchHelper);
+        Files.walkFileTree(PATH, excluding);
+        assertThat(excluding.enumConstants).isEmpty();
+    }
+
+    @Test
+    void scan() {
+        JavaSourceScanner scanner = JavaSourceScanner.create(PATH, Pattern.compile(".*"));
+        RecordingVisitor visitor = new RecordingVisitor(scanner.getSearchHelper());
+        scanner.scan(Collections.singletonList(visitor));
+        assertThat(visitor.enumConstants).containsExactly("HTML", "TAGLETS", "INLINE_HTML_TAGS", "WITH_TAGS");
+    }
+
+    static class RecordingVisitor extends AbstractSearchingFileVisitor {
+
+        private final List<String> enumConstants = new ArrayList<>();
+
+        @SuppressWarnings("deprecation")
+        RecordingVisitor(Pattern pattern, JavaSourceSearchHelper searchHelper) {
+            super(pattern, searchHelper);
+        }
+
+        RecordingVisitor(JavaSourceSearchHelper searchHelper) {
+            super(searchHelper);
+        }
+
+        @Override
+        public Collection<Class<?>> supportedInterfaces() {
+            return Collections.singletonList(MeterDocumentation.class);
+        }
+
+        @Override
+        public void onEnumConstant(JavaEnumSource enclosingEnumSource, EnumConstantSource enumConstant) {
+            this.enumConstants.add(enumConstant.getName());
+        }
+
+    }
+
+}
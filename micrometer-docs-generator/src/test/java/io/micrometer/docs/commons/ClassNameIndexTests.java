@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ClassNameIndex}.
+ */
+class ClassNameIndexTests {
+
+    private static final Path FOO = Paths.get("foo/Foo.java");
+
+    private static final Path BAR = Paths.get("foo/Bar.java");
+
+    @Test
+    void lookup() {
+        ClassNameIndex index = ClassNameIndex.builder()
+            .add(new JavaSourcePathInfo(FOO, "foo.Foo", "foo.Foo", "Foo"))
+            .add(new JavaSourcePathInfo(FOO, "foo.Foo.Bar", "foo.Foo$Bar", "Bar"))
+            .add(new JavaSourcePathInfo(FOO, "foo.Foo.Bar.Baz", "foo.Foo$Bar$Baz", "Baz"))
+            .build();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.getQualifiedNames()).containsExactlyInAnyOrder("foo.Foo", "foo.Foo$Bar", "foo.Foo$Bar$Baz");
+        assertThat(index.getPath("foo.Foo$Bar$Baz")).isSameAs(FOO);
+        JavaSourcePathInfo pathInfo = index.get("foo.Foo$Bar$Baz");
+        assertThat(pathInfo.canonicalName).isEqualTo("foo.Foo.Bar.Baz");
+        assertThat(pathInfo.qualifiedName).isEqualTo("foo.Foo$Bar$Baz");
+        assertThat(pathInfo.simpleName).isEqualTo("Baz");
+
+        assertThat(index.contains("foo.Foo$Bar")).isTrue();
+        assertThat(index.contains("foo.Foo.Bar")).isFalse();
+        assertThat(index.contains("foo.Bar")).isFalse();
+        assertThat(index.contains("fo.Foo")).isFalse();
+        assertThat(index.contains("xfoo.Foo")).isFalse();
+        assertThat(index.contains("Foo")).isFalse();
+
+        assertThat(index.getQualifiedNames("foo.Foo.Bar")).containsExactly("foo.Foo$Bar");
+        assertThat(index.getQualifiedNames("foo.Foo$Bar")).isEmpty();
+
+        assertThat(index.getQualifiedName("foo", "Foo$Bar")).isEqualTo("foo.Foo$Bar");
+        assertThat(index.getQualifiedName("foo", "Bar")).isNull();
+        assertThat(index.getQualifiedName("fo", "o.Foo")).isNull();
+    }
+
+    @Test
+    void defaultPackage() {
+        ClassNameIndex index = ClassNameIndex.builder()
+            .add(new JavaSourcePathInfo(FOO, "Foo", "Foo", "Foo"))
+            .add(new JavaSourcePathInfo(FOO, "Foo.Bar", "Foo$Bar", "Bar"))
+            .build();
+
+        assertThat(index.get("Foo$Bar").canonicalName).isEqualTo("Foo.Bar");
+        assertThat(index.getQualifiedNames("Foo.Bar")).containsExactly("Foo$Bar");
+        assertThat(index.getQualifiedName("Foo", "Bar")).isNull();
+    }
+
+    @Test
+    void sameCanonicalName() {
+        // nested class "C" in "a.B", and class "C" in package "a.B"
+        ClassNameIndex index = ClassNameIndex.builder()
+            .add(new JavaSourcePathInfo(FOO, "a.B", "a.B", "B"))
+            .add(new JavaSourcePathInfo(FOO, "a.B.C", "a.B$C", "C"))
+            .add(new JavaSourcePathInfo(BAR, "a.B.C", "a.B.C", "C"))
+            .build();
+
+        assertThat(index.getQualifiedNames("a.B.C")).containsExactlyInAnyOrder("a.B$C", "a.B.C");
+        assertThat(index.getPath("a.B.C")).isSameAs(BAR);
+        assertThat(index.getQualifiedName("a", "B$C")).isEqualTo("a.B$C");
+        assertThat(index.getQualifiedName("a", "B.C")).isNull();
+        assertThat(index.getQualifiedName("a.B", "C")).isEqualTo("a.B.C");
+    }
+
+    @Test
+    void replace() {
+        ClassNameIndex index = ClassNameIndex.builder()
+            .add(new JavaSourcePathInfo(FOO, "foo.Foo", "foo.Foo", "Foo"))
+            .add(new JavaSourcePathInfo(FOO, "foo.Foo.Bar", "foo.Foo$Bar", "Bar"))
+            .add(new JavaSourcePathInfo(BAR, "foo.Foo", "foo.Foo", "Foo"))
+            .build();
+
+        // same as putting them into a map in order
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.getPath("foo.Foo")).isSameAs(BAR);
+        assertThat(index.getPath("foo.Foo$Bar")).isSameAs(FOO);
+        assertThat(index.get("foo.Foo$Bar").canonicalName).isEqualTo("foo.Foo.Bar");
+        assertThat(index.getQualifiedNames("foo.Foo")).containsExactly("foo.Foo");
+    }
+
+    @Test
+    void grow() {
+        ClassNameIndex.Builder builder = ClassNameIndex.builder();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String packageName = "com.example.module" + (i % 7);
+            Path path = Paths.get("Type" + i + ".java");
+            builder.add(new JavaSourcePathInfo(path, packageName + ".Type" + i, packageName + ".Type" + i, "Type" + i));
+            builder.add(new JavaSourcePathInfo(path, packageName + ".Type" + i + ".Nested",
+                    packageName + ".Type" + i + "$Nested", "Nested"));
+            names.add(packageName + ".Type" + i);
+            names.add(packageName + ".Type" + i + "$Nested");
+        }
+        ClassNameIndex index = builder.build();
+
+        assertThat(index.size()).isEqualTo(20_000);
+        assertThat(index.getQualifiedNames()).containsExactlyInAnyOrderElementsOf(names);
+        for (String name : names) {
+            assertThat(index.contains(name)).isTrue();
+            assertThat(index.getQualifiedNames(name.replace('$', '.'))).containsExactly(name);
+        }
+    }
+
+    @Test
+    void sameAsIndexedSources() {
+        List<Path> paths = JavaSourceSearchHelper.collectPaths(Paths.get("src"), Pattern.compile(".*"),
+                Collections.emptyList());
+        ClassNameIndex index = JavaSourceSearchHelper.index(paths, 1);
+
+        List<String> names = new ArrayList<>();
+        for (Path path : paths) {
+            for (JavaSourcePathInfo expected : JavaDeclarationIndexer.index(path)) {
+                names.add(expected.qualifiedName);
+                JavaSourcePathInfo actual = index.get(expected.qualifiedName);
+                assertThat(actual.path).isSameAs(path);
+                assertThat(actual.canonicalName).isEqualTo(expected.canonicalName);
+                assertThat(actual.simpleName).isEqualTo(expected.simpleName);
+            }
+        }
+        assertThat(index.getQualifiedNames()).containsExactlyInAnyOrderElementsOf(names);
+    }
+
+    @Test
+    void unexpectedNames() {
+        ClassNameIndex.Builder builder = ClassNameIndex.builder();
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> builder.add(new JavaSourcePathInfo(FOO, "foo.Foo", "foo.Foo", "Bar")));
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> builder.add(new JavaSourcePathInfo(FOO, "foo.Bar.Foo", "foo.Foo", "Foo")));
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Set;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import io.micrometer.docs.commons.Profiler.Counter;
+import io.micrometer.docs.commons.Profiler.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@link DocumentWriter}.
+ */
+class DocumentWriterTests {
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void write(boolean atomic, @TempDir Path dir) throws Exception {
+        Template template = new Handlebars().compileInline("Hello {{name}}!");
+        Path output = dir.resolve("out.adoc");
+        Files.write(output, "previous content".getBytes(StandardCharsets.UTF_8));
+
+        boolean changed = new DocumentWriter(atomic).write(template, Collections.singletonMap("name", "Grüße"), output);
+
+        assertThat(changed).isTrue();
+
+        assertThat(new String(Files.readAllBytes(output), StandardCharsets.UTF_8)).isEqualTo("Hello Grüße!");
+        // no temporary file is left behind
+        assertThat(dir.toFile().list()).containsExactly("out.adoc");
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "true, false", "false, false", "false, true" })
+    void keepPermissions(boolean atomic, boolean writeIfChanged, @TempDir Path dir) throws Exception {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Template template = new Handlebars().compileInline("Hello {{name}}!");
+        DocumentWriter writer = new DocumentWriter(atomic, writeIfChanged);
+
+        // a new output gets the default permissions of a new file
+        Path output = dir.resolve("out.adoc");
+        writer.write(template, Collections.singletonMap("name", "foo"), output);
+        Path reference = Files.createFile(dir.resolve("reference.adoc"));
+        assertThat(Files.getPosixFilePermissions(output)).isEqualTo(Files.getPosixFilePermissions(reference));
+
+        // an existing output keeps its permissions
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(output, permissions);
+        writer.write(template, Collections.singletonMap("name", "bar"), output);
+        assertThat(Files.getPosixFilePermissions(output)).isEqualTo(permissions);
+    }
+
+    @Test
+    void writeIfChanged(@TempDir Path dir) throws Exception {
+        Template template = new Handlebars().compileInline("Hello {{name}}!");
+        Path output = dir.resolve("out.adoc");
+        Path other = dir.resolve("other.adoc");
+        DocumentWriter writer = new DocumentWriter(false, true);
+
+        assertThat(writer.write(template, Collections.singletonMap("name", "foo"), output)).isTrue();
+        FileTime written = FileTime.fromMillis(1_000_000L);
+        Files.setLastModifiedTime(output, written);
+
+        assertThat(writer.write(template, Collections.singletonMap("name", "foo"), output)).isFalse();
+        assertThat(Files.getLastModifiedTime(output)).isEqualTo(written);
+
+        assertThat(writer.write(template, Collections.singletonMap("name", "bar"), output)).isTrue();
+        assertThat(new String(Files.readAllBytes(output), StandardCharsets.UTF_8)).isEqualTo("Hello bar!");
+        assertThat(Files.getLastModifiedTime(output)).isNotEqualTo(written);
+
+        assertThat(writer.write(template, Collections.singletonMap("name", "foo"), other)).isTrue();
+
+        assertThat(writer.getChangedOutputs()).containsExactly(output, output, other);
+        assertThat(writer.getUnchangedOutputs()).containsExactly(output);
+        assertThat(dir.toFile().list()).containsExactlyInAnyOrder("out.adoc", "other.adoc");
+    }
+
+    @Test
+    void profile(@TempDir Path dir) throws Exception {
+        Template template = new Handlebars().compileInline("Hello {{name}}!");
+        Profiler profiler = new Profiler();
+        profiler.setCurrentScope("foo");
+
+        new DocumentWriter(false, false, profiler).write(template, Collections.singletonMap("name", "Grüße"),
+                dir.resolve("out.adoc"));
+
+        // UTF-8 encoded bytes
+        assertThat(profiler.getCount("foo", Counter.BYTES_WRITTEN)).isEqualTo(14);
+        assertThat(profiler.getNanos("foo", Phase.WRITE)).isPositive();
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.util.List;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.docs.RoasterTestUtils;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.jboss.forge.roaster.model.source.JavaEnumSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link EnumConstantEntryCache}.
+ */
+class EnumConstantEntryCacheTests {
+
+    @Test
+    void memoizePerEnumAndReader() {
+        JavaClassSource classSource = RoasterTestUtils.readJavaClass(EnumConstantEntryCacheTests.class);
+        JavaEnumSource enumSource = (JavaEnumSource) classSource.getNestedType(MyKeyName.class.getSimpleName());
+        EnumConstantEntryCache cache = new EnumConstantEntryCache();
+
+        List<KeyNameEntry> first = cache.get(enumSource, KeyNameEnumConstantReader.INSTANCE);
+        List<KeyNameEntry> second = cache.get(enumSource, new KeyNameEnumConstantReader());
+        List<EventEntry> events = cache.get(enumSource, EventEntryForMetricEnumConstantReader.INSTANCE);
+
+        assertThat(first).extracting(KeyNameEntry::getName).containsExactly("foo");
+        assertThat(second).isSameAs(first);
+        // does not implement Observation.Event
+        assertThat(events).isEmpty();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> first.add(new KeyNameEntry()));
+    }
+
+    enum MyKeyName implements KeyName {
+
+        /**
+         * Foo title
+         */
+        FOO {
+            @Override
+            public String asString() {
+                return "foo";
+            }
+        }
+
+    }
+
+}
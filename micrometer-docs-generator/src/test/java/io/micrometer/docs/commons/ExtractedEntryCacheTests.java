@@ -0,0 +1,323 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.micrometer.docs.conventions.ObservationConventionsDocGenerator;
+import io.micrometer.docs.metrics.MetricsDocGenerator;
+import io.micrometer.docs.spans.SpansDocGenerator;
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ExtractedEntryCache}.
+ */
+class ExtractedEntryCacheTests {
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        write("Main", "package foo; public class Main { }");
+        write("Dep", "package foo; public class Dep { }");
+        write("Other", "package foo; public class Other { }");
+    }
+
+    @Test
+    void reuseUnchangedFiles() {
+        RecordingVisitor first = scan();
+        assertThat(first.extracted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other");
+        assertThat(first.accepted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other");
+
+        RecordingVisitor second = scan();
+        assertThat(second.extracted).isEmpty();
+        assertThat(second.accepted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other");
+    }
+
+    @Test
+    void revisitDependents() throws IOException {
+        scan();
+        write("Dep", "package foo; public class Dep { int changed; }");
+
+        RecordingVisitor visitor = scan();
+        // "Main" resolved "Dep" while being extracted
+        assertThat(visitor.extracted).containsExactlyInAnyOrder("foo.Main", "foo.Dep");
+        assertThat(visitor.accepted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other");
+    }
+
+    @Test
+    void revisitAllWhenFileIsAdded() throws IOException {
+        scan();
+        write("Added", "package foo; public class Added { }");
+
+        RecordingVisitor visitor = scan();
+        assertThat(visitor.extracted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other", "foo.Added");
+    }
+
+    @Test
+    void revisitAllWhenFileIsDeleted() throws IOException {
+        writeUsesTags();
+        writeFile("q1/Tags.java", "package q1; public class Tags { }");
+        writeFile("q2/Tags.java", "package q2; public class Tags { }");
+        assertThat(scan().accepted).contains("bar.Uses -> q1.Tags");
+
+        Files.delete(this.root.resolve("q1/Tags.java"));
+
+        RecordingVisitor visitor = scan();
+        assertThat(visitor.extracted).contains("bar.Uses", "foo.Other");
+        assertThat(visitor.accepted).contains("bar.Uses -> q2.Tags").doesNotContain("bar.Uses -> q1.Tags");
+    }
+
+    @Test
+    void revisitAllWhenDeclaredClassesChange() throws IOException {
+        writeUsesTags();
+        writeFile("q1/Misc.java", "package q1; public class Misc { }");
+        writeFile("q2/Tags.java", "package q2; public class Tags { }");
+        assertThat(scan().accepted).contains("bar.Uses -> q2.Tags");
+
+        // "q1.Tags" now shadows "q2.Tags", while "bar.Uses" only depends on
+        // "q2/Tags.java"
+        writeFile("q1/Misc.java", "package q1; public class Tags { }");
+
+        RecordingVisitor visitor = scan();
+        assertThat(visitor.extracted).contains("bar.Uses", "foo.Other");
+        assertThat(visitor.accepted).contains("bar.Uses -> q1.Tags").doesNotContain("bar.Uses -> q2.Tags");
+    }
+
+    @Test
+    void discardPreviousResultsWhenScanFails() throws IOException {
+        writeFile("bar/Versioned.java", "package bar; public class Versioned { int v1; }");
+        writeFile("bar/Failing.java", "package bar; public class Failing { }");
+        assertThat(scan().accepted).contains("bar.Versioned v1");
+
+        writeFile("bar/Versioned.java", "package bar; public class Versioned { int v2; }");
+        writeFile("bar/Failing.java", "package bar; public class Failing { int broken; }");
+        assertThatIllegalStateException().isThrownBy(this::scan);
+
+        writeFile("bar/Failing.java", "package bar; public class Failing { }");
+        assertThat(scan().accepted).contains("bar.Versioned v2");
+    }
+
+    @Test
+    void revisitModifiedPaths() throws IOException {
+        Path versioned = this.root.resolve("bar/Versioned.java");
+        writeFile("bar/Versioned.java", "package bar; public class Versioned { int v1; }");
+        assertThat(scan().accepted).contains("bar.Versioned v1");
+
+        // same size and last modified time
+        FileTime lastModified = Files.getLastModifiedTime(versioned);
+        writeFile("bar/Versioned.java", "package bar; public class Versioned { int v2; }");
+        Files.setLastModifiedTime(versioned, lastModified);
+        assertThat(scan().accepted).contains("bar.Versioned v1");
+
+        RecordingVisitor visitor = scan(Collections.singletonList(versioned));
+        assertThat(visitor.extracted).containsExactly("bar.Versioned");
+        assertThat(visitor.accepted).contains("bar.Versioned v2");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "src/test/java/io/micrometer/docs/spans/test1",
+            "src/test/java/io/micrometer/docs/conventions/data1" })
+    void generateFromCachedEntries(String projectRoot) throws IOException {
+        Path project = Paths.get(projectRoot);
+        Map<String, String> extracted = generate(project, this.root.resolve("extracted"));
+        assertThat(String.join("", extracted.values())).contains("|===");
+
+        JavaSourceScanner scanner = JavaSourceScanner.builder(project, Pattern.compile(".*"))
+            .cacheDirectory(this.cacheDirectory)
+            .build();
+        Map<String, String> cached = generate(scanner, this.root.resolve("cached"));
+        // no java file is parsed, all entries are decoded from the cache
+        assertThat(scanner.getSearchHelper().getJavaSourceCache().getMissCount()).isZero();
+        assertThat(cached).isEqualTo(extracted);
+    }
+
+    @Test
+    void discardCacheOfOtherGeneratorVersion() throws IOException {
+        scan();
+        Path cacheFile = this.cacheDirectory.resolve(JavaSourceScanner.ENTRY_CACHE_FILE_NAME);
+        byte[] content = Files.readAllBytes(cacheFile);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(ExtractedEntryCache.MAGIC);
+        out.writeInt(ExtractedEntryCache.VERSION);
+        out.writeUTF("other");
+        int headerLength = 4 + 4 + 2 + ExtractedEntryCache.GENERATOR_VERSION.getBytes(StandardCharsets.UTF_8).length;
+        out.write(content, headerLength, content.length - headerLength);
+        Files.write(cacheFile, bytes.toByteArray());
+
+        RecordingVisitor visitor = scan();
+        assertThat(visitor.extracted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other");
+        // written again by the current version
+        assertThat(scan().extracted).isEmpty();
+    }
+
+    @Test
+    void ignoreUnreadableCache() throws IOException {
+        scan();
+        Path cacheFile = this.cacheDirectory.resolve(JavaSourceScanner.ENTRY_CACHE_FILE_NAME);
+        byte[] content = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(content, content.length - 3));
+
+        assertThat(scan().extracted).containsExactlyInAnyOrder("foo.Main", "foo.Dep", "foo.Other");
+    }
+
+    private Map<String, String> generate(Path project, Path output) throws IOException {
+        JavaSourceScanner scanner = JavaSourceScanner.builder(project, Pattern.compile(".*"))
+            .cacheDirectory(this.cacheDirectory)
+            .build();
+        return generate(scanner, output);
+    }
+
+    private static Map<String, String> generate(JavaSourceScanner scanner, Path output) throws IOException {
+        File projectRoot = new File(".");
+        Pattern inclusionPattern = Pattern.compile(".*");
+        List<DocGenerator> generators = Arrays.asList(
+                new MetricsDocGenerator(projectRoot, inclusionPattern, "templates/metrics.adoc.hbs",
+                        output.resolve("_metrics.adoc")),
+                new SpansDocGenerator(projectRoot, inclusionPattern, "templates/spans.adoc.hbs",
+                        output.resolve("_spans.adoc")),
+                new ObservationConventionsDocGenerator(projectRoot, inclusionPattern, "templates/conventions.adoc.hbs",
+                        output.resolve("_conventions.adoc")));
+        Files.createDirectories(output);
+        scanner.scan(generators.stream()
+            .map(generator -> generator.createVisitor(scanner.getSearchHelper()))
+            .collect(Collectors.toList()));
+        generators.forEach(DocGenerator::render);
+        Map<String, String> contents = new TreeMap<>();
+        try (Stream<Path> files = Files.list(output)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                contents.put(file.getFileName().toString(),
+                        new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            }
+        }
+        return contents;
+    }
+
+    private void writeUsesTags() throws IOException {
+        writeFile("bar/Uses.java", "package bar; import q1.*; import q2.*; public class Uses { }");
+    }
+
+    private RecordingVisitor scan() {
+        return scan(Collections.emptyList());
+    }
+
+    private RecordingVisitor scan(List<Path> modifiedPaths) {
+        JavaSourceScanner scanner = JavaSourceScanner.builder(this.root, Pattern.compile(".*"))
+            .cacheDirectory(this.cacheDirectory)
+            .modifiedPaths(modifiedPaths)
+            .build();
+        RecordingVisitor visitor = new RecordingVisitor(scanner.getSearchHelper());
+        scanner.scan(Collections.singletonList(visitor));
+        return visitor;
+    }
+
+    private void write(String className, String content) throws IOException {
+        writeFile("foo/" + className + ".java", content);
+    }
+
+    private void writeFile(String relativePath, String content) throws IOException {
+        Path file = this.root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class RecordingVisitor implements IncrementalJavaSourceVisitor<String> {
+
+        private final JavaSourceSearchHelper searchHelper;
+
+        private final List<String> extracted = new ArrayList<>();
+
+        private final List<String> accepted = new ArrayList<>();
+
+        RecordingVisitor(JavaSourceSearchHelper searchHelper) {
+            this.searchHelper = searchHelper;
+        }
+
+        @Override
+        public String getCacheName() {
+            return "recording";
+        }
+
+        @Override
+        public String extract(JavaSource<?> javaSource) {
+            if (javaSource.getName().equals("Main")) {
+                this.searchHelper.search("foo.Dep");
+            }
+            if (javaSource.toString().contains("broken")) {
+                throw new IllegalStateException("broken " + javaSource.getQualifiedName());
+            }
+            this.extracted.add(javaSource.getQualifiedName());
+            if (javaSource.getName().equals("Versioned")) {
+                return javaSource.getQualifiedName() + (javaSource.toString().contains("v2") ? " v2" : " v1");
+            }
+            if (javaSource.getName().equals("Uses")) {
+                JavaSource<?> tags = this.searchHelper.searchReferencingClass(javaSource, "Tags");
+                return javaSource.getQualifiedName() + " -> " + ((tags != null) ? tags.getQualifiedName() : null);
+            }
+            return javaSource.getQualifiedName();
+        }
+
+        @Override
+        public void accept(String extracted) {
+            this.accepted.add(extracted);
+        }
+
+        @Override
+        public void write(String extracted, DataOutput out) throws IOException {
+            out.writeUTF(extracted);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.micrometer.docs.SyntheticCorpus;
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+import org.jboss.forge.roaster.ParserException;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.jboss.forge.roaster.model.source.TypeHolderSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link JavaDeclarationIndexer}.
+ */
+class JavaDeclarationIndexerTests {
+
+    private static final Path PATH = Paths.get("Test.java");
+
+    @Test
+    void nestedTypes() {
+        String source = "package foo . bar;\n" + "import java.util.List;\n" + "@SuppressWarnings({\"a\", \"b\"})\n"
+                + "public class Outer<T extends List<?>> implements Runnable {\n" + "    String s = \"class Fake {\";\n"
+                + "    char c = '{';\n" + "    char q = '\\'';\n" + "    String tb = \"\"\"\n"
+                + "        class AlsoFake { \\\"\"\" }\n" + "        \"\"\";\n" + "    Class<?> k = Outer.class;\n"
+                + "    /* class Commented { */\n" + "    // class Commented2 {\n" + "    public void run() {\n"
+                + "        Object o = new Object() { class InAnonymous {} };\n"
+                + "        Runnable r = () -> { class InLambda { class Deep {} } };\n" + "    }\n"
+                + "    { class InInitializer {} }\n" + "    @interface Marker { String value() default \"}\"; }\n"
+                + "    enum Color { RED { class InConstant {} }, GREEN; static class InEnum {} }\n"
+                + "    record Point(int x, int y) { record Inner<T>(T t) {} }\n" + "    interface $Dollar_1 {}\n"
+                + "    void record(Object record) { record(record); }\n" + "}\n"
+                + "class Second { class Ignored {} }\n";
+
+        List<JavaSourcePathInfo> pathInfos = JavaDeclarationIndexer.index(PATH, source);
+
+        assertThat(describe(pathInfos)).containsExactly("foo.bar.Outer|foo.bar.Outer|Outer",
+                "foo.bar.Outer$InAnonymous|foo.bar.Outer.InAnonymous|InAnonymous",
+                "foo.bar.Outer$InLambda|foo.bar.Outer.InLambda|InLambda",
+                "foo.bar.Outer$InLambda$Deep|foo.bar.Outer.InLambda.Deep|Deep",
+                "foo.bar.Outer$InInitializer|foo.bar.Outer.InInitializer|InInitializer",
+                "foo.bar.Outer$Marker|foo.bar.Outer.Marker|Marker", "foo.bar.Outer$Color|foo.bar.Outer.Color|Color",
+                "foo.bar.Outer$Color$InConstant|foo.bar.Outer.Color.InConstant|InConstant",
+                "foo.bar.Outer$Color$InEnum|foo.bar.Outer.Color.InEnum|InEnum",
+                "foo.bar.Outer$Point|foo.bar.Outer.Point|Point",
+                "foo.bar.Outer$Point$Inner|foo.bar.Outer.Point.Inner|Inner",
+                "foo.bar.Outer$$Dollar_1|foo.bar.Outer.$Dollar_1|$Dollar_1");
+        assertThat(pathInfos).allSatisfy((pathInfo) -> assertThat(pathInfo.path).isEqualTo(PATH));
+        assertThat(describe(pathInfos)).containsExactlyInAnyOrderElementsOf(parse(source));
+    }
+
+    @Test
+    void defaultPackage() {
+        String source = "/* package foo; */ enum Foo { A; interface Bar {} }";
+        assertThat(describe(JavaDeclarationIndexer.index(PATH, source))).containsExactly("Foo|Foo|Foo",
+                "Foo$Bar|Foo.Bar|Bar");
+        assertThat(parse(source)).containsExactly("Foo|Foo|Foo", "Foo$Bar|Foo.Bar|Bar");
+    }
+
+    @Test
+    void noType() {
+        String source = "package foo;";
+        assertThat(describe(JavaDeclarationIndexer.index(PATH, source)))
+            .containsExactly("foo.package-info|foo.package-info|package-info");
+        assertThat(parse(source)).containsExactly("foo.package-info|foo.package-info|package-info");
+
+        assertThatExceptionOfType(ParserException.class).isThrownBy(() -> JavaDeclarationIndexer.index(PATH, ""));
+        assertThatExceptionOfType(ParserException.class).isThrownBy(() -> parse(""));
+    }
+
+    @Test
+    void sameAsParsedSources() {
+        List<Path> paths = JavaSourceSearchHelper.collectPaths(Paths.get("src"), Pattern.compile(".*"),
+                Collections.emptyList());
+        assertThat(paths).hasSizeGreaterThan(100);
+        assertSameAsParsedSources(paths);
+    }
+
+    @Test
+    void sameAsParsedSyntheticCorpus(@TempDir Path dir) throws IOException {
+        List<Path> paths = SyntheticCorpus.builder().modules(2).wildcardImportRatio(0.5).build().write(dir);
+        assertSameAsParsedSources(paths);
+    }
+
+    private static void assertSameAsParsedSources(List<Path> paths) {
+        JavaSourceCache javaSourceCache = new JavaSourceCache();
+        for (Path path : paths) {
+            List<String> expected = new ArrayList<>();
+            collect(javaSourceCache.get(path), expected);
+            assertThat(describe(JavaDeclarationIndexer.index(path))).as(path.toString())
+                .containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static List<String> parse(String source) {
+        List<String> result = new ArrayList<>();
+        collect(Roaster.parse(JavaSource.class, source), result);
+        return result;
+    }
+
+    private static void collect(JavaSource<?> javaSource, List<String> result) {
+        result.add(javaSource.getQualifiedName() + "|" + javaSource.getCanonicalName() + "|" + javaSource.getName());
+        if (javaSource instanceof TypeHolderSource) {
+            for (JavaSource<?> nested : ((TypeHolderSource<?>) javaSource).getNestedTypes()) {
+                collect(nested, result);
+            }
+        }
+    }
+
+    private static List<String> describe(List<JavaSourcePathInfo> pathInfos) {
+        return pathInfos.stream()
+            .map((pathInfo) -> pathInfo.qualifiedName + "|" + pathInfo.canonicalName + "|" + pathInfo.simpleName)
+            .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JavaSourceCache}.
+ */
+class JavaSourceCacheTests {
+
+    private static final Path CONTAINER = Paths
+        .get("src/test/java/io/micrometer/docs/commons/search/search_test/Container.java");
+
+    private static final Path MY_SEARCH_ENUM = Paths
+        .get("src/test/java/io/micrometer/docs/commons/search/search_test/MySearchEnum.java");
+
+    @Test
+    void get() {
+        JavaSourceCache cache = new JavaSourceCache();
+
+        JavaSource<?> first = cache.get(CONTAINER);
+        JavaSource<?> second = cache.get(CONTAINER);
+
+        assertThat(first.getName()).isEqualTo("Container");
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        JavaSourceCache cache = new JavaSourceCache(1);
+
+        JavaSource<?> container = cache.get(CONTAINER);
+        cache.get(MY_SEARCH_ENUM);
+        JavaSource<?> reparsed = cache.get(CONTAINER);
+
+        assertThat(reparsed).isNotSameAs(container);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+        assertThat(cache.getHitCount()).isZero();
+    }
+
+    @Test
+    void evictModified(@TempDir Path dir) throws IOException {
+        Path modified = Files.copy(CONTAINER, dir.resolve("Container.java"));
+        Path deleted = Files.copy(MY_SEARCH_ENUM, dir.resolve("MySearchEnum.java"));
+        JavaSourceCache cache = new JavaSourceCache();
+        JavaSource<?> container = cache.get(modified);
+        cache.get(deleted);
+
+        assertThat(cache.evictModified()).isZero();
+        assertThat(cache.get(modified)).isSameAs(container);
+
+        Files.setLastModifiedTime(modified,
+                FileTime.fromMillis(Files.getLastModifiedTime(modified).toMillis() + 10_000));
+        Files.delete(deleted);
+
+        assertThat(cache.evictModified()).isEqualTo(2);
+        assertThat(cache.get(modified)).isNotSameAs(container);
+    }
+
+    @Test
+    void evictModifiedWithSameLastModifiedTime(@TempDir Path dir) throws IOException {
+        Path path = Files.copy(CONTAINER, dir.resolve("Container.java"));
+        JavaSourceCache cache = new JavaSourceCache();
+        JavaSource<?> container = cache.get(path);
+
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        Files.write(path, Arrays.asList("// appended"), StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(path, lastModified);
+
+        assertThat(cache.evictModified()).isEqualTo(1);
+        assertThat(cache.get(path)).isNotSameAs(container);
+    }
+
+    @Test
+    void evict(@TempDir Path dir) throws IOException {
+        Path container = Files.copy(CONTAINER, dir.resolve("Container.java"));
+        Path mySearchEnum = Files.copy(MY_SEARCH_ENUM,
+                Files.createDirectories(dir.resolve("sub")).resolve("MySearchEnum.java"));
+        JavaSourceCache cache = new JavaSourceCache();
+        JavaSource<?> parsed = cache.get(container);
+        cache.get(mySearchEnum);
+
+        assertThat(cache.evict(Collections.singletonList(dir.resolve("sub")))).isEqualTo(1);
+        assertThat(cache.get(container)).isSameAs(parsed);
+        assertThat(cache.evict(Collections.singletonList(container))).isEqualTo(1);
+        assertThat(cache.get(container)).isNotSameAs(parsed);
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+import io.micrometer.docs.commons.Profiler.Counter;
+import io.micrometer.docs.commons.Profiler.Phase;
+import io.micrometer.docs.commons.search.search_test.Container;
+import io.micrometer.docs.commons.search.search_test.MySearchEnum;
+import io.micrometer.docs.commons.search.search_test.MySearchInterface;
+import io.micrometer.docs.conventions.ObservationConventionsDocGenerator;
+import io.micrometer.docs.metrics.MetricsDocGenerator;
+import io.micrometer.docs.spans.SpansDocGenerator;
+import io.micrometer.observation.ObservationRegistry;
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link JavaSourceScanner}.
+ */
+class JavaSourceScannerTests {
+
+    @Test
+    void scan() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/search_test");
+        JavaSourceScanner scanner = JavaSourceScanner.create(path, Pattern.compile(".*"));
+
+        RecordingVisitor first = new RecordingVisitor();
+        RecordingVisitor second = new RecordingVisitor();
+        scanner.scan(Arrays.asList(first, second));
+
+        // each top level source is visited exactly once per visitor
+        assertThat(first.visited).containsExactlyInAnyOrder(Container.class.getName(), MySearchEnum.class.getName(),
+                MySearchInterface.class.getName());
+        assertThat(second.visited).containsExactlyElementsOf(first.visited);
+        assertThat(first.completed).isEqualTo(1);
+        assertThat(second.completed).isEqualTo(1);
+
+        // the shared search helper resolves nested classes as well
+        assertThat(scanner.getSearchHelper().search(Container.Nest1.Nest2.class.getName())).isNotNull();
+    }
+
+    @Test
+    void parallelIndexMatchesSequential() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/search_test");
+        List<Path> paths = JavaSourceSearchHelper.collectPaths(path, Pattern.compile(".*"), Collections.emptyList());
+
+        ClassNameIndex sequential = JavaSourceSearchHelper.index(paths, 1);
+        ClassNameIndex parallel = JavaSourceSearchHelper.index(paths, 4);
+
+        assertThat(parallel.size()).isEqualTo(sequential.size());
+        for (String name : sequential.getQualifiedNames()) {
+            JavaSourcePathInfo info = sequential.get(name);
+            assertThat(parallel.get(name)).isNotNull();
+            assertThat(parallel.get(name).path).isEqualTo(info.path);
+            assertThat(parallel.get(name).canonicalName).isEqualTo(info.canonicalName);
+        }
+
+        JavaSourceScanner scanner = JavaSourceScanner.builder(path, Pattern.compile(".*")).parallelism(4).build();
+        RecordingVisitor visitor = new RecordingVisitor();
+        scanner.scan(Collections.singletonList(visitor));
+        assertThat(visitor.visited).containsExactlyInAnyOrder(Container.class.getName(), MySearchEnum.class.getName(),
+                MySearchInterface.class.getName());
+    }
+
+    @Test
+    void preFilter() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/search_test");
+        JavaSourceScanner scanner = JavaSourceScanner.create(path, Pattern.compile(".*"));
+
+        RecordingVisitor all = new RecordingVisitor();
+        RecordingVisitor filtered = new RecordingVisitor() {
+            @Override
+            public JavaSourcePreFilter preFilter() {
+                return new KeywordPreFilter("enum", Collections.singletonList("NestedInterface"));
+            }
+        };
+        scanner.scan(Arrays.asList(all, filtered));
+
+        // "all" accepts every file, so the pre-filter is not applied
+        assertThat(all.visited).hasSize(3);
+        assertThat(filtered.visited).hasSize(3);
+        assertThat(filtered.completed).isEqualTo(1);
+        assertThat(scanner.getSkippedCount()).isZero();
+
+        filtered.visited.clear();
+        scanner.scan(Collections.singletonList(filtered));
+        assertThat(filtered.visited).containsExactlyInAnyOrder(MySearchEnum.class.getName(),
+                MySearchInterface.class.getName());
+        assertThat(scanner.getSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void preFilterSkipsFilesWithAllGenerators(@TempDir Path root) throws IOException {
+        writeJavaFile(root, "foo/Plain.java", "package foo;\npublic class Plain { }");
+        writeJavaFile(root, "foo/PlainEnum.java", "package foo;\npublic enum PlainEnum { A }");
+        writeJavaFile(root, "foo/MyConvention.java",
+                "package foo;\n" + "import io.micrometer.observation.Observation;\n"
+                        + "import io.micrometer.observation.ObservationConvention;\n"
+                        + "public class MyConvention implements ObservationConvention<Observation.Context> {\n"
+                        + "    public boolean supportsContext(Observation.Context context) { return true; }\n}");
+        Pattern inclusionPattern = Pattern.compile(".*");
+        Path conventionsOutput = root.resolve("_conventions.adoc");
+        List<DocGenerator> generators = Arrays.asList(
+                new MetricsDocGenerator(root.toFile(), inclusionPattern, "templates/metrics.adoc.hbs",
+                        root.resolve("_metrics.adoc")),
+                new SpansDocGenerator(root.toFile(), inclusionPattern, "templates/spans.adoc.hbs",
+                        root.resolve("_spans.adoc")),
+                new ObservationConventionsDocGenerator(root.toFile(), inclusionPattern,
+                        "templates/conventions.adoc.hbs", conventionsOutput));
+        JavaSourceScanner scanner = JavaSourceScanner.create(root, inclusionPattern);
+
+        scanner.scan(generators.stream()
+            .map(generator -> generator.createVisitor(scanner.getSearchHelper()))
+            .collect(Collectors.toList()));
+        generators.forEach(DocGenerator::render);
+
+        // the plain class and enum are rejected by the pre-filters of every generator
+        assertThat(scanner.getSkippedCount()).isEqualTo(2);
+        assertThat(new String(Files.readAllBytes(conventionsOutput), StandardCharsets.UTF_8))
+            .contains("foo.MyConvention");
+    }
+
+    @Test
+    void validationIsAggregated() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/search_test");
+        JavaSourceScanner scanner = JavaSourceScanner.create(path, Pattern.compile(".*"));
+
+        RecordingVisitor first = new RecordingVisitor() {
+            @Override
+            public List<String> validate() {
+                return Collections.singletonList("first problem");
+            }
+        };
+        RecordingVisitor second = new RecordingVisitor() {
+            @Override
+            public List<String> validate() {
+                return Collections.singletonList("second problem");
+            }
+        };
+        RecordingVisitor valid = new RecordingVisitor();
+
+        assertThatIllegalStateException().isThrownBy(() -> scanner.scan(Arrays.asList(first, valid, second)))
+            .withMessageContaining("first problem")
+            .withMessageContaining("second problem");
+        assertThat(first.completed).isEqualTo(1);
+        assertThat(second.completed).isEqualTo(1);
+    }
+
+    @Test
+    void profile() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/search_test");
+        Profiler profiler = new Profiler();
+        JavaSourceScanner scanner = JavaSourceScanner.builder(path, Pattern.compile(".*")).profiler(profiler).build();
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        scanner.scan(Collections.singletonList(visitor));
+
+        assertThat(scanner.getProfiler()).isSameAs(profiler);
+        assertThat(profiler.getNanos(Profiler.SCAN, Phase.WALK)).isPositive();
+        assertThat(profiler.getNanos(Profiler.SCAN, Phase.INDEX)).isPositive();
+        assertThat(profiler.getNanos(Profiler.SCAN, Phase.PARSE)).isPositive();
+        assertThat(profiler.getCount(Profiler.SCAN, Counter.FILES_VISITED)).isEqualTo(3);
+        assertThat(profiler.getCount(Profiler.SCAN, Counter.FILES_PARSED)).isEqualTo(3);
+        // indexing does not parse, each file is parsed once when visited
+        assertThat(profiler.getCount(Profiler.SCAN, Counter.PARSE_CACHE_MISSES)).isEqualTo(3);
+        assertThat(profiler.getCount(Profiler.SCAN, Counter.PARSE_CACHE_HITS)).isZero();
+
+        String scope = RecordingVisitor.class.getName();
+        assertThat(profiler.getScopes()).containsExactly(Profiler.SCAN, scope);
+        assertThat(profiler.getNanos(scope, Phase.EXTRACT)).isPositive();
+        assertThat(profiler.getCount(scope, Counter.FILES_VISITED)).isEqualTo(3);
+    }
+
+    @Test
+    void observe() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/search_test");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        JavaSourceScanner scanner = JavaSourceScanner.builder(path, Pattern.compile(".*"))
+            .observationRegistry(observationRegistry)
+            .meterRegistry(meterRegistry)
+            .build();
+
+        scanner.scan(Collections.singletonList(new RecordingVisitor()));
+
+        assertThat(meterRegistry.get("micrometer.docs.scan").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("micrometer.docs.resolve").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("micrometer.docs.validate")
+            .tag("generator", RecordingVisitor.class.getName())
+            .timer()
+            .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("micrometer.docs.parses").functionCounter().count()).isEqualTo(3);
+
+        assertThat(scanner.getSearchHelper()
+            .searchReferencingClass(scanner.getSearchHelper().search(Container.class.getName()), "Unknown")).isNull();
+        assertThat(meterRegistry.get("micrometer.docs.lookups").tag("result", "unresolved").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("micrometer.docs.lookups").tag("result", "resolved").functionCounter().count())
+            .isZero();
+    }
+
+    private static void writeJavaFile(Path root, String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class RecordingVisitor implements JavaSourceVisitor {
+
+        private final List<String> visited = new ArrayList<>();
+
+        private int completed;
+
+        @Override
+        public void visit(JavaSource<?> javaSource) {
+            this.visited.add(javaSource.getQualifiedName());
+        }
+
+        @Override
+        public void complete() {
+            this.completed++;
+        }
+
+    }
+
+}
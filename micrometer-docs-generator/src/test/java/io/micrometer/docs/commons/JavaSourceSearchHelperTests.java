@@ -16,8 +16,13 @@
 
 package io.micrometer.docs.commons;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -43,6 +48,7 @@ import org.jboss.forge.roaster.model.source.JavaSource;
 import org.jboss.forge.roaster.model.source.MethodSource;
 import org.junit.jupiter.api.Named;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -81,6 +87,22 @@ class JavaSourceSearchHelperTests {
         assertThat(result.getName()).isEqualTo(expectedSimpleName);
     }
 
+    @Test
+    void searchReferencingClassCachesUnresolvedReferences() {
+        Path path = Paths.get("src/test/java/io/micrometer/docs/commons/search/test1");
+        JavaSourceSearchHelper helper = JavaSourceSearchHelper.create(path, Pattern.compile(".*"));
+        JavaSource<?> enclosingSource = helper.search(ReferenceSample.class.getName());
+
+        assertThat(helper.searchReferencingClass(enclosingSource, "List")).isNull();
+        assertThat(helper.getUnresolvedReferenceHitCount()).isZero();
+        assertThat(helper.searchReferencingClass(enclosingSource, "List")).isNull();
+        assertThat(helper.getUnresolvedReferenceHitCount()).isEqualTo(1);
+
+        // resolved references are not affected
+        assertThat(helper.searchReferencingClass(enclosingSource, "NestedFoo")).isNotNull();
+        assertThat(helper.searchReferencingClass(enclosingSource, "NestedFoo")).isNotNull();
+    }
+
     @Test
     void searchReferencingClassInDefaultPackage() throws Exception {
         Path path = Paths.get("src/test/java");
@@ -103,6 +125,13 @@ class JavaSourceSearchHelperTests {
         MethodSource<?> result = helper.searchMethodSource(enclosingSource, methodName);
         assertThat(result).isNotNull();
         assertThat(result.getOrigin().getName()).isEqualTo(expectedEnclosingClassName);
+
+        // resolved from the memoized type hierarchy
+        JavaSource<?> indexedSource = helper.search(MethodSearchSample.class.getName());
+        assertThat(helper.searchMethodSource(indexedSource, methodName).getOrigin().getName())
+            .isEqualTo(expectedEnclosingClassName);
+        assertThat(helper.searchMethodSource(indexedSource, methodName).getOrigin().getName())
+            .isEqualTo(expectedEnclosingClassName);
     }
 
     @Test
@@ -117,6 +146,25 @@ class JavaSourceSearchHelperTests {
         assertThat(result.getOrigin().getName()).isEqualTo("DefaultPackageParent");
     }
 
+    @Test
+    void searchMethodSourceOnIndexedObservationConvention(@TempDir Path root) throws IOException {
+        // scanning micrometer itself indexes the ObservationConvention interface
+        writeJavaFile(root, "io/micrometer/observation/ObservationConvention.java",
+                "package io.micrometer.observation;\n"
+                        + "public interface ObservationConvention<T> { default String getName() { return null; } }");
+        writeJavaFile(root, "foo/MyConvention.java",
+                "package foo;\n" + "import io.micrometer.observation.ObservationConvention;\n"
+                        + "public class MyConvention implements ObservationConvention<Object> { }");
+        JavaSourceSearchHelper helper = JavaSourceSearchHelper.create(root, Pattern.compile(".*"));
+        JavaSource<?> javaSource = helper.search("foo.MyConvention");
+
+        MethodSource<?> result = helper.searchMethodSource(javaSource, "getName");
+        assertThat(result).isNotNull();
+        assertThat(result.getOrigin().getName()).isEqualTo("ObservationConvention");
+        assertThat(helper.searchObservationConventionInterfaceName(javaSource))
+            .isEqualTo("io.micrometer.observation.ObservationConvention<Object>");
+    }
+
     @ParameterizedTest
     @org.junit.jupiter.params.provider.MethodSource
     void searchMethodSourceOnEnum(String methodName, String expectedEnclosingClassName) {
@@ -152,6 +200,8 @@ class JavaSourceSearchHelperTests {
         JavaSource<?> javaSource = helper.search(clazz.getName());
         String result = helper.searchObservationConventionInterfaceName(javaSource);
         assertThat(result).isEqualTo(expectedName);
+        // memoized
+        assertThat(helper.searchObservationConventionInterfaceName(javaSource)).isEqualTo(expectedName);
     }
 
     static Stream<Arguments> searchReferencingClass() {
@@ -172,7 +222,10 @@ class JavaSourceSearchHelperTests {
                 Arguments.of("ReferenceSample.NestedFoo.NestedBar", "NestedBar"),
                 Arguments.of("io.micrometer.docs.commons.search.test1.ReferenceSample.NestedFoo.NestedBar", "NestedBar"),
                 Arguments.of("InSamePackage", "InSamePackage"),
-                Arguments.of("InDifferentPackage", "InDifferentPackage")
+                Arguments.of("InDifferentPackage", "InDifferentPackage"),
+                // Nested class name within the package
+                Arguments.of("ReferenceSample$NestedFoo", "NestedFoo"),
+                Arguments.of("ReferenceSample$NestedFoo$NestedBar", "NestedBar")
         );
         // @formatter:on
     }
@@ -219,6 +272,36 @@ class JavaSourceSearchHelperTests {
         // @formatter:on
     }
 
+    @Test
+    void collectPathsSkipsExcludedDirectories(@TempDir Path root) throws IOException {
+        Files.createFile(root.resolve("pom.xml"));
+        Path source = createJavaFile(root, "src/main/java/foo/Source.java");
+        // "build" package without a build script next to it
+        Path buildPackage = createJavaFile(root, "src/main/java/foo/build/BuildPackage.java");
+        createJavaFile(root, "target/generated-sources/foo/Generated.java");
+        createJavaFile(root, "node_modules/foo/NodeModule.java");
+        createJavaFile(root, ".git/foo/Git.java");
+        createJavaFile(root, "src/excluded/foo/Excluded.java");
+        createJavaFile(root, "src/main/java/foo/ExcludedFile.java");
+
+        List<Path> paths = JavaSourceSearchHelper.collectPaths(root, Pattern.compile(".*"),
+                Arrays.asList(Pattern.compile(".*/src/excluded"), Pattern.compile(".*ExcludedFile\\.java")));
+
+        assertThat(paths).containsExactlyInAnyOrder(source, buildPackage);
+    }
+
+    private static void writeJavaFile(Path root, String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path createJavaFile(Path root, String path) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.createFile(file);
+    }
+
     static Stream<Arguments> searchObservationConventionInterfaceName() {
         // uses convention
         // @formatter:off
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JavaSourceWatcher}.
+ */
+@Timeout(30)
+class JavaSourceWatcherTests {
+
+    @Test
+    void awaitChanges(@TempDir Path dir) throws Exception {
+        Path foo = write(dir.resolve("src/foo/Foo.java"));
+        Path excluded = write(dir.resolve("src/excluded/Excluded.java"));
+        try (JavaSourceWatcher watcher = new JavaSourceWatcher(dir, Pattern.compile(".*"),
+                Collections.singletonList(Pattern.compile(".*excluded")), 100)) {
+            // a burst of changes is reported once, without the ignored files
+            write(foo);
+            write(excluded);
+            write(dir.resolve("src/foo/README.md"));
+            write(dir.resolve("src/foo/Bar.java"));
+            assertThat(watcher.awaitChanges()).containsExactlyInAnyOrder(foo, dir.resolve("src/foo/Bar.java"));
+
+            // files created with their directory are reported, and the directory is
+            // watched
+            Path baz = write(dir.resolve("src/baz/Baz.java"));
+            assertThat(watcher.awaitChanges()).containsExactly(baz);
+            write(baz);
+            assertThat(watcher.awaitChanges()).containsExactly(baz);
+
+            Files.delete(foo);
+            assertThat(watcher.awaitChanges()).containsExactly(foo);
+        }
+    }
+
+    private static Path write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, ("// " + System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link KeywordPreFilter}.
+ */
+class KeywordPreFilterTests {
+
+    private final KeywordPreFilter filter = new KeywordPreFilter("enum",
+            Arrays.asList("ObservationDocumentation", "MeterDocumentation"));
+
+    @Test
+    void accept() {
+        assertThat(this.filter.test(buffer("enum Foo implements ObservationDocumentation {}"))).isTrue();
+        assertThat(this.filter.test(buffer("public enum Foo implements MeterDocumentation {}"))).isTrue();
+    }
+
+    @Test
+    void reject() {
+        assertThat(this.filter.test(buffer("class Foo implements ObservationDocumentation {}"))).isFalse();
+        assertThat(this.filter.test(buffer("enum Foo implements SpanDocumentation {}"))).isFalse();
+        assertThat(this.filter.test(buffer("enu"))).isFalse();
+        assertThat(this.filter.test(buffer(""))).isFalse();
+    }
+
+    @Test
+    void withoutRequiredKeyword() {
+        KeywordPreFilter filter = new KeywordPreFilter(Arrays.asList("implements", "extends"));
+        assertThat(filter.test(buffer("class Foo implements Bar {}"))).isTrue();
+        assertThat(filter.test(buffer("interface Foo extends Bar {}"))).isTrue();
+        assertThat(filter.test(buffer("class Foo {}"))).isFalse();
+    }
+
+    @Test
+    void positionAndLimitAreRespected() {
+        ByteBuffer content = buffer("enum Foo implements MeterDocumentation {}");
+        content.position(1);
+        assertThat(this.filter.test(content)).isFalse();
+        assertThat(content.position()).isEqualTo(1);
+
+        content.position(0).limit(20);
+        assertThat(this.filter.test(content)).isFalse();
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import io.micrometer.docs.commons.Profiler.Counter;
+import io.micrometer.docs.commons.Profiler.Phase;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Profiler}.
+ */
+class ProfilerTests {
+
+    @Test
+    void record() {
+        Profiler profiler = new Profiler();
+        profiler.record(Profiler.SCAN, Phase.WALK, 10);
+        profiler.record(Profiler.SCAN, Phase.WALK, 5);
+        profiler.increment("foo", Counter.FILES_VISITED, 2);
+        profiler.increment("foo", Counter.FILES_VISITED, 3);
+        profiler.set(Profiler.SCAN, Counter.FILES_PARSED, 7);
+        profiler.set(Profiler.SCAN, Counter.FILES_PARSED, 8);
+
+        profiler.setCurrentScope("bar");
+        profiler.record(Phase.WRITE, 20);
+        profiler.increment(Counter.BYTES_WRITTEN, 100);
+
+        assertThat(profiler.getScopes()).containsExactly(Profiler.SCAN, "foo", "bar");
+        assertThat(profiler.getNanos(Profiler.SCAN, Phase.WALK)).isEqualTo(15);
+        assertThat(profiler.getCount("foo", Counter.FILES_VISITED)).isEqualTo(5);
+        assertThat(profiler.getCount(Profiler.SCAN, Counter.FILES_PARSED)).isEqualTo(8);
+        assertThat(profiler.getNanos("bar", Phase.WRITE)).isEqualTo(20);
+        assertThat(profiler.getCount("bar", Counter.BYTES_WRITTEN)).isEqualTo(100);
+        assertThat(profiler.getNanos("unknown", Phase.WRITE)).isZero();
+    }
+
+    @Test
+    void time() {
+        Profiler profiler = new Profiler();
+        String result = profiler.time("foo", Phase.RENDER, () -> "done");
+
+        assertThat(result).isEqualTo("done");
+        assertThat(profiler.getNanos("foo", Phase.RENDER)).isPositive();
+    }
+
+    @Test
+    void formatTable() {
+        Profiler profiler = new Profiler();
+        profiler.record(Profiler.SCAN, Phase.INDEX, 1_500_000);
+        profiler.increment("MetricsDocGenerator", Counter.BYTES_WRITTEN, 1234);
+
+        String table = profiler.formatTable();
+
+        assertThat(table).contains("phases (ms)", "counters", "bytesWritten", "parseCacheMisses")
+            .containsPattern("scan +0\\.000 +1\\.500 ")
+            .containsPattern("MetricsDocGenerator( +0){6} +1234");
+    }
+
+    @Test
+    void toJson() {
+        Profiler profiler = new Profiler();
+        profiler.record(Profiler.SCAN, Phase.WALK, 42);
+        profiler.increment("quoted\"name", Counter.FILES_VISITED, 3);
+
+        assertThat(profiler.toJson()).contains("\"timeUnit\": \"nanoseconds\"")
+            .contains("\"name\": \"scan\"", "\"walk\": 42", "\"index\": 0")
+            .contains("\"name\": \"quoted\\\"name\"", "\"filesVisited\": 3");
+        assertThat(new Profiler().toJson()).contains("\"scopes\": []");
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+
+import io.micrometer.docs.commons.JavaSourceSearchHelper.JavaSourcePathInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SymbolIndexFile}.
+ */
+class SymbolIndexFileTests {
+
+    @TempDir
+    Path root;
+
+    private Path source;
+
+    private Path indexFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.source = this.root.resolve("src/foo/Foo.java");
+        Files.createDirectories(this.source.getParent());
+        write("package foo; public class Foo { static class Bar {} }");
+        this.indexFile = this.root.resolve("cache/symbol-index.bin");
+    }
+
+    @Test
+    void reuseUnchangedFile() {
+        ClassNameIndex first = index();
+        assertThat(first.getQualifiedNames()).containsExactlyInAnyOrder("foo.Foo", "foo.Foo$Bar");
+
+        SymbolIndexFile symbolIndex = SymbolIndexFile.load(this.root, this.indexFile);
+        List<JavaSourcePathInfo> pathInfos = symbolIndex.lookup(this.source);
+        assertThat(pathInfos).hasSize(2);
+        assertThat(pathInfos.get(1).path).isEqualTo(this.source);
+        assertThat(pathInfos.get(1).canonicalName).isEqualTo("foo.Foo.Bar");
+        assertThat(pathInfos.get(1).qualifiedName).isEqualTo("foo.Foo$Bar");
+        assertThat(pathInfos.get(1).simpleName).isEqualTo("Bar");
+        assertThat(symbolIndex.getReusedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reuseTouchedFileWithSameContent() throws IOException {
+        index();
+        Files.setLastModifiedTime(this.source, FileTime.fromMillis(0));
+
+        SymbolIndexFile symbolIndex = SymbolIndexFile.load(this.root, this.indexFile);
+        assertThat(symbolIndex.lookup(this.source)).hasSize(2);
+    }
+
+    @Test
+    void indexModifiedPathsAgain() {
+        index();
+
+        SymbolIndexFile symbolIndex = SymbolIndexFile.load(this.root, this.indexFile);
+        symbolIndex.setModifiedPaths(Collections.singletonList(this.root.resolve("src/foo")));
+        assertThat(symbolIndex.lookup(this.source)).isNull();
+
+        symbolIndex.setModifiedPaths(Collections.singletonList(this.root.resolve("src/bar")));
+        assertThat(symbolIndex.lookup(this.source)).hasSize(2);
+    }
+
+    @Test
+    void parseChangedFile() throws IOException {
+        index();
+        // same size, different content
+        write("package foo; public class Foo { static class Baz {} }");
+        Files.setLastModifiedTime(this.source, FileTime.fromMillis(0));
+
+        SymbolIndexFile symbolIndex = SymbolIndexFile.load(this.root, this.indexFile);
+        assertThat(symbolIndex.lookup(this.source)).isNull();
+
+        ClassNameIndex classNameIndex = JavaSourceSearchHelper.index(Collections.singletonList(this.source), 1,
+                symbolIndex);
+        assertThat(classNameIndex.getQualifiedNames()).containsExactlyInAnyOrder("foo.Foo", "foo.Foo$Baz");
+        assertThat(symbolIndex.getIndexedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoreUnreadableFile() throws IOException {
+        Files.createDirectories(this.indexFile.getParent());
+        Files.write(this.indexFile, "broken".getBytes(StandardCharsets.UTF_8));
+
+        SymbolIndexFile symbolIndex = SymbolIndexFile.load(this.root, this.indexFile);
+        assertThat(symbolIndex.lookup(this.source)).isNull();
+    }
+
+    private ClassNameIndex index() {
+        SymbolIndexFile symbolIndex = SymbolIndexFile.load(this.root, this.indexFile);
+        ClassNameIndex classNameIndex = JavaSourceSearchHelper.index(Collections.singletonList(this.source), 1,
+                symbolIndex);
+        symbolIndex.save();
+        return classNameIndex;
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(this.source, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.observation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import io.micrometer.docs.metrics.MetricsDocGenerator;
+import io.micrometer.docs.spans.SpansDocGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DocsGeneratorObservationDocumentation} and
+ * {@link DocsGeneratorMeterDocumentation}, documented by the generator itself.
+ */
+class DocsGeneratorObservationDocumentationTests {
+
+    private static final File SOURCES = new File("src/main/java/io/micrometer/docs/commons/observation");
+
+    @Test
+    void metrics(@TempDir Path dir) throws IOException {
+        Path output = dir.resolve("_metrics.adoc");
+        new MetricsDocGenerator(SOURCES, Pattern.compile(".*"), "templates/metrics.adoc.hbs", output).generate();
+
+        assertThat(new String(Files.readAllBytes(output)))
+            .contains("`micrometer.docs.scan`", "`micrometer.docs.resolve`")
+            .contains("`micrometer.docs.validate`", "`micrometer.docs.render`", "`generator`")
+            .contains("`micrometer.docs.parses`", "`micrometer.docs.lookups`", "`result`");
+    }
+
+    @Test
+    void spans(@TempDir Path dir) throws IOException {
+        Path output = dir.resolve("_spans.adoc");
+        new SpansDocGenerator(SOURCES, Pattern.compile(".*"), "templates/spans.adoc.hbs", output).generate();
+
+        assertThat(new String(Files.readAllBytes(output)))
+            .contains("`micrometer.docs.scan`", "`micrometer.docs.render`")
+            .doesNotContain("micrometer.docs.parses");
+    }
+
+}
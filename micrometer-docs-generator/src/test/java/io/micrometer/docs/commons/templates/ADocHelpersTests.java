@@ -16,11 +16,11 @@
 
 package io.micrometer.docs.commons.templates;
 
-import com.github.jknack.handlebars.Options;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
 
 /**
  * Tests for {@link ADocHelpers}.
@@ -31,14 +31,15 @@ class ADocHelpersTests {
 
     @Test
     void anchor() throws Exception {
-        ADocHelpers.AnchorHelper helper = new ADocHelpers.AnchorHelper();
-        Options options = mock(Options.class);
-        assertThat(helper.apply("foo", options)).isEqualTo("foo");
-        assertThat(helper.apply("foo", options)).isEqualTo("foo-1");
-        assertThat(helper.apply("foo", options)).isEqualTo("foo-2");
-        assertThat(helper.apply("bar", options)).isEqualTo("bar");
-        assertThat(helper.apply("bar", options)).isEqualTo("bar-1");
-        assertThat(helper.apply("baz", options)).isEqualTo("baz");
+        Handlebars handlebars = new Handlebars();
+        handlebars.registerHelper("anchor", new ADocHelpers.AnchorHelper());
+        Template template = handlebars
+            .compileInline("{{anchor 'foo'}} {{anchor 'foo'}} {{#each this}}{{anchor this}} {{/each}}{{anchor 'baz'}}");
+        Object context = new String[] { "foo", "bar", "bar" };
+
+        assertThat(template.apply(context)).isEqualTo("foo foo-1 foo-2 bar bar-1 baz");
+        // each rendering starts over
+        assertThat(template.apply(context)).isEqualTo("foo foo-1 foo-2 bar bar-1 baz");
     }
 
 }
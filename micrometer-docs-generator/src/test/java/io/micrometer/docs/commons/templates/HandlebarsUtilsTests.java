@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.templates;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import com.github.jknack.handlebars.Template;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HandlebarsUtils}.
+ */
+class HandlebarsUtilsTests {
+
+    @Test
+    void createTemplateFromClasspath() throws Exception {
+        Template template = HandlebarsUtils.createTemplate("templates/metrics.adoc.hbs");
+
+        assertThat(HandlebarsUtils.createTemplate("templates/metrics.adoc.hbs")).isSameAs(template);
+    }
+
+    @Test
+    void createTemplateFromFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("foo.adoc.hbs");
+        Files.write(file, "foo {{name}}".getBytes(StandardCharsets.UTF_8));
+        String location = file.toAbsolutePath().toString();
+
+        Template template = HandlebarsUtils.createTemplate(location);
+        assertThat(HandlebarsUtils.createTemplate(location)).isSameAs(template);
+        assertThat(template.apply(Collections.singletonMap("name", "x"))).isEqualTo("foo x" + System.lineSeparator());
+
+        // modified template is compiled again
+        Files.write(file, "bar {{name}}".getBytes(StandardCharsets.UTF_8));
+        Template modified = HandlebarsUtils.createTemplate(location);
+        assertThat(modified).isNotSameAs(template);
+        assertThat(modified.apply(Collections.singletonMap("name", "x"))).isEqualTo("bar x" + System.lineSeparator());
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.source.EnumConstantSource;
+import org.jboss.forge.roaster.model.source.JavaDocCapableSource;
+import org.jboss.forge.roaster.model.source.JavaDocSource;
+import org.jboss.forge.roaster.model.source.JavaEnumSource;
+import org.jboss.forge.roaster.model.source.JavaSource;
+import org.jboss.forge.roaster.model.source.TypeHolderSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AsciidocUtils}. The conversion is compared with the previous regex
+ * based conversion, which is kept in {@link RegexAsciidocUtils} as the golden reference.
+ */
+class AsciidocUtilsTests {
+
+    private static final String[] TOKENS = { "<p>", "<p/>", "<br>", "<br/>", "<strong>", "</strong>", "<b>", "</b>",
+            "<i>", "</i>", "<ul>", "</ul>", "<ol>", "</ol>", "<li>", "</li>", "<a href=\"x\">", "</a>", "<", ">", " ",
+            "  ", "\t", "\u00a0", "\u3000", "foo", "bar.baz", "{@code x}", "{@link Foo}", "{@link Foo#bar() bar}",
+            "{@value Foo#BAR}", "{@literal y}", "&amp;", "-", "\n * ", "\n *\n * ", "\n *  \t " };
+
+    @Test
+    void javadocToAsciidocForFixtures() throws IOException {
+        List<JavaDocSource<?>> javadocs = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(Paths.get("src/test/java/io/micrometer/docs"))) {
+            for (Path path : paths.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                collectJavadocs(Roaster.parse(JavaSource.class, path.toFile()), javadocs);
+            }
+        }
+        assertThat(javadocs).hasSizeGreaterThan(100);
+        for (JavaDocSource<?> javadoc : javadocs) {
+            assertThat(AsciidocUtils.javadocToAsciidoc(javadoc))
+                .isEqualTo(RegexAsciidocUtils.javadocToAsciidoc(javadoc));
+        }
+    }
+
+    @Test
+    void javadocToAsciidocForRandomJavadocs() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder source = new StringBuilder("/**\n * ");
+            appendRandomTokens(source, random, 30);
+            source.append("\n */\nenum Foo { BAR }");
+            JavaDocSource<?> javadoc = Roaster.parse(JavaEnumSource.class, source.toString()).getJavaDoc();
+            assertThat(AsciidocUtils.javadocToAsciidoc(javadoc)).as(source.toString())
+                .isEqualTo(RegexAsciidocUtils.javadocToAsciidoc(javadoc));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "foo", "<p>foo</p>", "foo<br>bar<br/>", "<strong>foo</strong> bar",
+            "<strong>foo</strong>bar", "<strong>foo</strong><br>bar", "<strong>foo</strong> \t<br/> bar",
+            "<strong>foo</strong>  <br><br>", "<x<p>y>", "<a <b>", "<a <b>>", "a > b", "a < b", "<<ul>>", "<li>a<li>b",
+            "<P>foo", "<b/>", "<i>foo</i> <unknown attr=\"x\">bar</unknown>" })
+    void simpleHtmlToAsciidoc(String line) {
+        assertThat(AsciidocUtils.simpleHtmlToAsciidoc(line, false))
+            .isEqualTo(RegexAsciidocUtils.simpleHtmlToAsciidoc(line, false));
+        assertThat(AsciidocUtils.simpleHtmlToAsciidoc(line, true))
+            .isEqualTo(RegexAsciidocUtils.simpleHtmlToAsciidoc(line, true));
+    }
+
+    @Test
+    void simpleHtmlToAsciidocForRandomLines() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            appendRandomTokens(sb, random, 20);
+            String line = sb.toString().replace("\n", "");
+            assertThat(AsciidocUtils.simpleHtmlToAsciidoc(line, i % 2 == 0)).as(line)
+                .isEqualTo(RegexAsciidocUtils.simpleHtmlToAsciidoc(line, i % 2 == 0));
+        }
+    }
+
+    private static void appendRandomTokens(StringBuilder sb, Random random, int maxCount) {
+        int count = random.nextInt(maxCount);
+        for (int i = 0; i < count; i++) {
+            sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+    }
+
+    private static void collectJavadocs(Object type, List<JavaDocSource<?>> javadocs) {
+        if (type instanceof JavaDocCapableSource) {
+            javadocs.add(((JavaDocCapableSource<?>) type).getJavaDoc());
+        }
+        if (type instanceof JavaEnumSource) {
+            for (EnumConstantSource enumConstant : ((JavaEnumSource) type).getEnumConstants()) {
+                javadocs.add(enumConstant.getJavaDoc());
+            }
+        }
+        if (type instanceof TypeHolderSource) {
+            for (JavaSource<?> nestedType : ((TypeHolderSource<?>) type).getNestedTypes()) {
+                collectJavadocs(nestedType, javadocs);
+            }
+        }
+    }
+
+}
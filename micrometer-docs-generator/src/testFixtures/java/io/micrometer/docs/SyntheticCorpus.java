@@ -0,0 +1,517 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic project tree with documented observations and meters, to measure and
+ * regression test the generator at scale without relying on real projects.
+ * <p>
+ * The tree is deterministic for the same settings. It consists of a {@code common} module
+ * with the shared {@code KeyName} enums, followed by the requested number of modules.
+ * Each module has documentation enums, a hierarchy of observation convention interfaces,
+ * a default convention for each observation, and plain classes that do not document
+ * anything. Documentation enums refer to the shared key names with single type or
+ * wildcard imports, default conventions and plain classes with static imports.
+ */
+public final class SyntheticCorpus {
+
+    private static final String BASE_PACKAGE = "com.example.synthetic";
+
+    private static final String COMMON_PACKAGE = BASE_PACKAGE + ".common";
+
+    private static final int CONSTANTS_PER_ENUM = 3;
+
+    private static final int KEYS_PER_ENUM = 2;
+
+    private final int modules;
+
+    private final int documentationEnums;
+
+    private final int sharedKeyNameEnums;
+
+    private final int conventionDepth;
+
+    private final int plainClasses;
+
+    private final double wildcardImportRatio;
+
+    private final double staticImportRatio;
+
+    private final long seed;
+
+    private SyntheticCorpus(Builder builder) {
+        this.modules = builder.modules;
+        this.documentationEnums = builder.documentationEnums;
+        this.sharedKeyNameEnums = builder.sharedKeyNameEnums;
+        this.conventionDepth = builder.conventionDepth;
+        this.plainClasses = builder.plainClasses;
+        this.wildcardImportRatio = builder.wildcardImportRatio;
+        this.staticImportRatio = builder.staticImportRatio;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Write the project tree.
+     * @param root project root directory
+     * @return written java files in the order they were written
+     * @throws IOException if writing a file failed
+     */
+    public List<Path> write(Path root) throws IOException {
+        Random random = new Random(this.seed);
+        List<Path> files = new ArrayList<>();
+        Path common = sourceRoot(root, "common");
+        for (int k = 0; k < this.sharedKeyNameEnums; k++) {
+            files.add(write(common, COMMON_PACKAGE, sharedKeyNameEnumName(k), sharedKeyNameEnum(k)));
+        }
+        for (int i = 0; i < this.modules; i++) {
+            String modulePackage = modulePackage(i);
+            Path sourceRoot = sourceRoot(root, "module" + i);
+            String conventionPackage = modulePackage + ".conventions";
+            for (int d = 0; d < this.conventionDepth; d++) {
+                files.add(
+                        write(sourceRoot, conventionPackage, conventionInterfaceName(i, d), conventionInterface(i, d)));
+            }
+            for (int m = 0; m < this.documentationEnums; m++) {
+                if (this.conventionDepth > 0 && isObservation(m)) {
+                    files.add(write(sourceRoot, conventionPackage, defaultConventionName(i, m),
+                            defaultConvention(i, m, random)));
+                }
+                files.add(
+                        write(sourceRoot, modulePackage, documentationEnumName(i, m), documentationEnum(i, m, random)));
+            }
+            for (int p = 0; p < this.plainClasses; p++) {
+                files.add(write(sourceRoot, modulePackage + ".support", "Support" + p, plainClass(i, p, random)));
+            }
+        }
+        return files;
+    }
+
+    private static Path sourceRoot(Path root, String module) {
+        return root.resolve(module).resolve("src").resolve("main").resolve("java");
+    }
+
+    private static Path write(Path sourceRoot, String packageName, String className, String body) throws IOException {
+        Path directory = sourceRoot.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(directory);
+        Path file = directory.resolve(className + ".java");
+        String content = "package " + packageName + ";\n\n" + body;
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String modulePackage(int module) {
+        return BASE_PACKAGE + ".module" + module;
+    }
+
+    // letters only, as KeyName.merge(...) arguments are matched by alphabetic names
+    private static String sharedKeyNameEnumName(int index) {
+        StringBuilder suffix = new StringBuilder();
+        for (int i = index; i >= 0; i = i / 26 - 1) {
+            suffix.insert(0, (char) ('A' + i % 26));
+        }
+        return "SharedKeyNames" + suffix;
+    }
+
+    private static String conventionInterfaceName(int module, int depth) {
+        return "Module" + module + "Convention" + depth;
+    }
+
+    private static String defaultConventionName(int module, int index) {
+        return "Default" + documentationEnumName(module, index) + "Convention";
+    }
+
+    private static String documentationEnumName(int module, int index) {
+        return (isObservation(index) ? "Module" + module + "Observation" : "Module" + module + "Meter") + index;
+    }
+
+    // every third enum documents meters, the others document observations
+    private static boolean isObservation(int index) {
+        return index % 3 != 2;
+    }
+
+    private static String sharedKeyNameEnum(int index) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import io.micrometer.common.docs.KeyName;\n\n");
+        sb.append("/**\n * Key names shared across modules.\n */\n");
+        sb.append("public enum ").append(sharedKeyNameEnumName(index)).append(" implements KeyName {\n\n");
+        for (int j = 0; j < KEYS_PER_ENUM; j++) {
+            appendKeyName(sb, "SHARED_" + j, "shared" + index + ".key" + j, j == KEYS_PER_ENUM - 1);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String conventionInterface(int module, int depth) {
+        StringBuilder sb = new StringBuilder();
+        if (depth == 0) {
+            sb.append("import io.micrometer.observation.Observation;\n");
+            sb.append("import io.micrometer.observation.ObservationConvention;\n\n");
+        }
+        sb.append("public interface ").append(conventionInterfaceName(module, depth)).append(" extends ");
+        if (depth == 0) {
+            sb.append("ObservationConvention<Observation.Context>");
+        }
+        else {
+            sb.append(conventionInterfaceName(module, depth - 1));
+        }
+        sb.append(" {\n\n");
+        if (depth == 0) {
+            sb.append("    @Override\n");
+            sb.append("    default boolean supportsContext(Observation.Context context) {\n");
+            sb.append("        return true;\n");
+            sb.append("    }\n\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String defaultConvention(int module, int index, Random random) {
+        int staticImport = staticImport(random);
+        StringBuilder sb = new StringBuilder();
+        if (staticImport >= 0) {
+            sb.append("import io.micrometer.common.KeyValues;\n");
+            sb.append("import io.micrometer.observation.Observation;\n\n");
+            appendStaticImport(sb, staticImport);
+        }
+        sb.append("public class ").append(defaultConventionName(module, index)).append(" implements ");
+        sb.append(conventionInterfaceName(module, this.conventionDepth - 1)).append(" {\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public String getName() {\n");
+        sb.append("        return \"").append(metricName(module, index)).append("\";\n");
+        sb.append("    }\n\n");
+        if (staticImport >= 0) {
+            sb.append("    @Override\n");
+            sb.append("    public KeyValues getLowCardinalityKeyValues(Observation.Context context) {\n");
+            sb.append("        return KeyValues.of(SHARED_0.withValue(\"value\"));\n");
+            sb.append("    }\n\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String documentationEnum(int module, int index, Random random) {
+        boolean observation = isObservation(index);
+        int sharedKeyNames = (this.sharedKeyNameEnums > 0) ? random.nextInt(this.sharedKeyNameEnums) : -1;
+        boolean wildcardImport = random.nextDouble() < this.wildcardImportRatio;
+
+        StringBuilder sb = new StringBuilder();
+        if (sharedKeyNames >= 0) {
+            sb.append("import ").append(COMMON_PACKAGE).append('.');
+            sb.append(wildcardImport ? "*" : sharedKeyNameEnumName(sharedKeyNames)).append(";\n");
+        }
+        sb.append("import io.micrometer.common.docs.KeyName;\n");
+        if (observation) {
+            sb.append("import io.micrometer.observation.Observation;\n");
+            sb.append("import io.micrometer.observation.ObservationConvention;\n");
+            sb.append("import io.micrometer.observation.docs.ObservationDocumentation;\n");
+            if (this.conventionDepth > 0) {
+                sb.append("import ").append(modulePackage(module)).append(".conventions.");
+                sb.append(defaultConventionName(module, index)).append(";\n");
+            }
+        }
+        else {
+            sb.append("import io.micrometer.core.instrument.Meter;\n");
+            sb.append("import io.micrometer.core.instrument.docs.MeterDocumentation;\n");
+        }
+        sb.append("\n");
+        sb.append("/**\n * Documentation of module ").append(module).append(".\n */\n");
+        sb.append("public enum ").append(documentationEnumName(module, index)).append(" implements ");
+        sb.append(observation ? "ObservationDocumentation" : "MeterDocumentation").append(" {\n\n");
+        for (int c = 0; c < CONSTANTS_PER_ENUM; c++) {
+            appendJavadoc(sb, "    ", module, index, c);
+            sb.append("    C").append(c).append(" {\n");
+            if (observation && this.conventionDepth > 0) {
+                sb.append("        @Override\n");
+                sb.append("        public Class<? extends ObservationConvention<? extends Observation.Context>> ");
+                sb.append("getDefaultConvention() {\n");
+                sb.append("            return ").append(defaultConventionName(module, index)).append(".class;\n");
+                sb.append("        }\n\n");
+            }
+            else {
+                sb.append("        @Override\n");
+                sb.append("        public String getName() {\n");
+                sb.append("            return \"").append(metricName(module, index)).append(".c").append(c);
+                sb.append("\";\n");
+                sb.append("        }\n\n");
+            }
+            if (!observation) {
+                sb.append("        @Override\n");
+                sb.append("        public Meter.Type getType() {\n");
+                sb.append("            return Meter.Type.").append((c % 2 == 0) ? "COUNTER" : "TIMER").append(";\n");
+                sb.append("        }\n\n");
+            }
+            sb.append("        @Override\n");
+            sb.append("        public KeyName[] ").append(observation ? "getLowCardinalityKeyNames" : "getKeyNames");
+            sb.append("() {\n");
+            if (sharedKeyNames >= 0) {
+                sb.append("            return KeyName.merge(Tags.values(), ");
+                sb.append(sharedKeyNameEnumName(sharedKeyNames)).append(".values());\n");
+            }
+            else {
+                sb.append("            return Tags.values();\n");
+            }
+            sb.append("        }\n");
+            if (observation) {
+                sb.append("\n");
+                sb.append("        @Override\n");
+                sb.append("        public KeyName[] getHighCardinalityKeyNames() {\n");
+                sb.append("            return HighTags.values();\n");
+                sb.append("        }\n");
+            }
+            sb.append("    }").append((c == CONSTANTS_PER_ENUM - 1) ? ";" : ",").append("\n\n");
+        }
+        appendKeyNameEnum(sb, "Tags", "Low cardinality keys.", metricName(module, index) + ".low");
+        if (observation) {
+            sb.append("\n");
+            appendKeyNameEnum(sb, "HighTags", "High cardinality keys.", metricName(module, index) + ".high");
+        }
+        sb.append("\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Choose the shared key name enum to statically import from.
+     * @param random random
+     * @return index of the shared key name enum, or {@code -1} for no static import
+     */
+    private int staticImport(Random random) {
+        if (this.sharedKeyNameEnums == 0 || random.nextDouble() >= this.staticImportRatio) {
+            return -1;
+        }
+        return random.nextInt(this.sharedKeyNameEnums);
+    }
+
+    private static void appendStaticImport(StringBuilder sb, int sharedKeyNames) {
+        if (sharedKeyNames >= 0) {
+            sb.append("import static ").append(COMMON_PACKAGE).append('.');
+            sb.append(sharedKeyNameEnumName(sharedKeyNames)).append(".SHARED_0;\n\n");
+        }
+    }
+
+    private static String metricName(int module, int index) {
+        return "module" + module + ".enum" + index;
+    }
+
+    private static void appendJavadoc(StringBuilder sb, String indent, int module, int index, int constant) {
+        sb.append(indent).append("/**\n");
+        sb.append(indent).append(" * Constant ").append(constant).append(" of {@code ");
+        sb.append(documentationEnumName(module, index)).append("} in <b>module ").append(module);
+        sb.append("</b>.\n");
+        sb.append(indent).append(" * <p>\n");
+        sb.append(indent).append(" * See {@link KeyName} for <i>details</i>:\n");
+        sb.append(indent).append(" * <ul>\n");
+        sb.append(indent).append(" * <li>first</li>\n");
+        sb.append(indent).append(" * <li>second</li>\n");
+        sb.append(indent).append(" * </ul>\n");
+        sb.append(indent).append(" */\n");
+    }
+
+    private static void appendKeyNameEnum(StringBuilder sb, String name, String description, String prefix) {
+        sb.append("    /**\n     * ").append(description).append("\n     */\n");
+        sb.append("    enum ").append(name).append(" implements KeyName {\n\n");
+        StringBuilder keys = new StringBuilder();
+        for (int j = 0; j < KEYS_PER_ENUM; j++) {
+            appendKeyName(keys, "KEY_" + j, prefix + ".key" + j, j == KEYS_PER_ENUM - 1);
+        }
+        // indent the key names as a nested enum
+        for (String line : keys.toString().split("\n", -1)) {
+            if (!line.isEmpty()) {
+                sb.append("    ").append(line);
+            }
+            sb.append("\n");
+        }
+        sb.setLength(sb.length() - 1);
+        sb.append("    }\n");
+    }
+
+    private static void appendKeyName(StringBuilder sb, String constant, String key, boolean last) {
+        sb.append("    /**\n     * Key {@code ").append(key).append("}.\n     */\n");
+        sb.append("    ").append(constant).append(" {\n");
+        sb.append("        @Override\n");
+        sb.append("        public String asString() {\n");
+        sb.append("            return \"").append(key).append("\";\n");
+        sb.append("        }\n");
+        sb.append("    }").append(last ? "\n\n" : ",\n\n");
+    }
+
+    private String plainClass(int module, int index, Random random) {
+        int staticImport = staticImport(random);
+        StringBuilder sb = new StringBuilder();
+        sb.append("import java.util.ArrayList;\n");
+        sb.append("import java.util.List;\n\n");
+        appendStaticImport(sb, staticImport);
+        sb.append("/**\n * Class of module ").append(module).append(" that documents nothing.\n */\n");
+        sb.append("public class Support").append(index).append(" {\n\n");
+        sb.append("    private final List<String> values = new ArrayList<>();\n\n");
+        sb.append("    public List<String> getValues() {\n");
+        sb.append("        return this.values;\n");
+        sb.append("    }\n\n");
+        if (staticImport >= 0) {
+            sb.append("    public String getSharedKey() {\n");
+            sb.append("        return SHARED_0.asString();\n");
+            sb.append("    }\n\n");
+        }
+        sb.append("    enum State {\n\n");
+        sb.append("        ACTIVE, INACTIVE\n\n");
+        sb.append("    }\n\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Builder for {@link SyntheticCorpus}.
+     */
+    public static final class Builder {
+
+        private int modules = 1;
+
+        private int documentationEnums = 10;
+
+        private int sharedKeyNameEnums = 5;
+
+        private int conventionDepth = 2;
+
+        private int plainClasses = 10;
+
+        private double wildcardImportRatio = 0.2;
+
+        private double staticImportRatio = 0.1;
+
+        private long seed = 42;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of modules.
+         * @param modules number of modules
+         * @return this builder
+         */
+        public Builder modules(int modules) {
+            this.modules = requireNonNegative(modules, "modules");
+            return this;
+        }
+
+        /**
+         * Number of documentation enums in each module. Every third enum documents
+         * meters, the others document observations.
+         * @param documentationEnums number of documentation enums per module
+         * @return this builder
+         */
+        public Builder documentationEnums(int documentationEnums) {
+            this.documentationEnums = requireNonNegative(documentationEnums, "documentationEnums");
+            return this;
+        }
+
+        /**
+         * Number of {@code KeyName} enums in the common module. Each documentation enum
+         * merges its own key names with one of them.
+         * @param sharedKeyNameEnums number of shared key name enums
+         * @return this builder
+         */
+        public Builder sharedKeyNameEnums(int sharedKeyNameEnums) {
+            this.sharedKeyNameEnums = requireNonNegative(sharedKeyNameEnums, "sharedKeyNameEnums");
+            return this;
+        }
+
+        /**
+         * Depth of the observation convention interface hierarchy in each module. The
+         * default convention of each observation implements the deepest interface. With
+         * {@code 0}, observations declare their name instead of a default convention.
+         * @param conventionDepth depth of the convention hierarchy
+         * @return this builder
+         */
+        public Builder conventionDepth(int conventionDepth) {
+            this.conventionDepth = requireNonNegative(conventionDepth, "conventionDepth");
+            return this;
+        }
+
+        /**
+         * Number of classes in each module that do not document anything.
+         * @param plainClasses number of plain classes per module
+         * @return this builder
+         */
+        public Builder plainClasses(int plainClasses) {
+            this.plainClasses = requireNonNegative(plainClasses, "plainClasses");
+            return this;
+        }
+
+        /**
+         * Ratio of documentation enums importing the shared key names with a wildcard
+         * import instead of a single type import.
+         * @param wildcardImportRatio ratio between {@code 0} and {@code 1}
+         * @return this builder
+         */
+        public Builder wildcardImportRatio(double wildcardImportRatio) {
+            this.wildcardImportRatio = requireRatio(wildcardImportRatio, "wildcardImportRatio");
+            return this;
+        }
+
+        /**
+         * Ratio of default conventions and plain classes that statically import a shared
+         * key name.
+         * @param staticImportRatio ratio between {@code 0} and {@code 1}
+         * @return this builder
+         */
+        public Builder staticImportRatio(double staticImportRatio) {
+            this.staticImportRatio = requireRatio(staticImportRatio, "staticImportRatio");
+            return this;
+        }
+
+        /**
+         * Seed for the random choices of shared key names and import styles.
+         * @param seed seed
+         * @return this builder
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SyntheticCorpus build() {
+            return new SyntheticCorpus(this);
+        }
+
+        private static int requireNonNegative(int value, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " must not be negative but was " + value);
+            }
+            return value;
+        }
+
+        private static double requireRatio(double value, String name) {
+            if (value < 0 || value > 1) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1 but was " + value);
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micrometer.docs.commons.utils;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.forge.roaster._shade.org.eclipse.jdt.core.dom.Javadoc;
+import org.jboss.forge.roaster._shade.org.eclipse.jdt.core.dom.TagElement;
+import org.jboss.forge.roaster._shade.org.eclipse.jdt.core.dom.TextElement;
+import org.jboss.forge.roaster.model.source.JavaDocSource;
+
+/**
+ * The regex based javadoc to asciidoc conversion that {@link AsciidocUtils} used before
+ * converting in a single pass. Kept as the golden reference of the {@link AsciidocUtils}
+ * tests and as the baseline of its benchmark.
+ */
+public final class RegexAsciidocUtils {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private static final String LINE_BREAK = " +" + NEWLINE;
+
+    private static final String PARAGRAPH_BREAK = NEWLINE + NEWLINE;
+
+    private static final Pattern NEWLINE_PATTERN = Pattern.compile("\\R");
+
+    private RegexAsciidocUtils() {
+    }
+
+    public static String simpleHtmlToAsciidoc(String line, boolean assumeLiOrdered) {
+        // @formatter:off
+        String asciidoc = line
+                .replaceAll("<p/?>", PARAGRAPH_BREAK)
+                .replaceAll("<br/?>", LINE_BREAK)
+                .replaceAll("<strong>", PARAGRAPH_BREAK + "IMPORTANT: ")
+                .replaceAll("</strong>\\h+", PARAGRAPH_BREAK)
+                .replaceAll("</?b>", "*")
+                .replaceAll("</?i>", "_")
+                .replaceAll("<ul>", NEWLINE)
+                .replaceAll("<ol>", NEWLINE)
+                .replaceAll("</[uo]l>", NEWLINE)
+                .replaceAll("<li>", NEWLINE + (assumeLiOrdered ? " 1. " : " - "));
+        // @formatter:on
+        return asciidoc.replaceAll("<[^<>]*>", "");
+    }
+
+    public static String simpleTagletToAsciidoc(String tagletName, List<?> tagletFragments) {
+        if ("@code".equals(tagletName) || "@value".equals(tagletName)) {
+            return tagletFragments.stream().map(o -> o.toString().trim()).collect(Collectors.joining(" ", "`", "`"));
+        }
+        if ("@link".equals(tagletName) || "@linkplain".equals(tagletName)) {
+            Stream<String> stream = tagletFragments.stream().map(o -> o.toString().trim());
+            if (tagletFragments.size() > 1) {
+                return stream.skip(1).collect(Collectors.joining(" "));
+            }
+            return stream.collect(Collectors.joining(" ", "`", "`"));
+        }
+        return Stream.concat(Stream.of(tagletName), tagletFragments.stream().map(o -> o.toString().trim()))
+            .collect(Collectors.joining(" ", "`{", "}`"));
+    }
+
+    public static String javadocToAsciidoc(JavaDocSource<?> javadoc) {
+        Object internal = javadoc.getInternal();
+        if (!(internal instanceof Javadoc)) {
+            return javadoc.getText();
+        }
+        @SuppressWarnings("unchecked")
+        List<TagElement> tagList = ((Javadoc) internal).tags();
+        StringBuilder text = new StringBuilder();
+        boolean openedOrderedList = false;
+        for (TagElement tagElement : tagList) {
+            if (tagElement.getTagName() != null) {
+                continue;
+            }
+            for (Object fragment : tagElement.fragments()) {
+                if (fragment instanceof TextElement) {
+                    String line = ((TextElement) fragment).getText();
+                    if (line.contains("<") && line.contains(">")) {
+                        if (line.contains("<ul>")) {
+                            openedOrderedList = false;
+                        }
+                        if (line.contains("<ol>")) {
+                            openedOrderedList = true;
+                        }
+                        text.append(simpleHtmlToAsciidoc(line, openedOrderedList));
+                    }
+                    else {
+                        text.append(line).append(' ');
+                    }
+                }
+                else if (fragment instanceof TagElement) {
+                    TagElement tagFragment = (TagElement) fragment;
+                    text.append(simpleTagletToAsciidoc(tagFragment.getTagName(), tagFragment.fragments()));
+                }
+            }
+        }
+        return NEWLINE_PATTERN.splitAsStream(text)
+            .map(line -> line.replaceAll("\\h\\h+", " ").replaceAll("\\h+$", ""))
+            .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+}